@@ -0,0 +1,168 @@
+package gr.aueb.cf.schoolapp.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.filter.ThresholdFilter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import gr.aueb.cf.schoolapp.core.logging.RateLimitingTurboFilter;
+import gr.aueb.cf.schoolapp.core.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one simulated request: an INFO line, a few DEBUG lines from
+ * the application and framework, and ten SQL statements.
+ * <ul>
+ *     <li>{@code current}: root at DEBUG with synchronous pattern file
+ *     appenders filtered at INFO, and SQL printed by {@code show_sql} to an
+ *     auto-flushing stream, as in the default profile.</li>
+ *     <li>{@code prod}: the {@code prod} profile of {@code logback-spring.xml},
+ *     i.e. root at INFO, JSON lines through a non-blocking async appender,
+ *     {@code org.hibernate.SQL} at DEBUG behind the rate limiter and Hikari
+ *     DEBUG/INFO sampled.</li>
+ * </ul>
+ * Run with {@code gradle jmh -Pjmh.includes=LoggingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String[] SQL = {
+            "select t1_0.id,t1_0.created_at,t1_0.is_active,t1_0.personal_info_id from teachers t1_0 limit ?,?",
+            "select u1_0.id,u1_0.afm,u1_0.firstname,u1_0.lastname from users u1_0 where u1_0.id=?",
+    };
+
+    @Param({"current", "prod"})
+    private String profile;
+
+    private Path directory;
+    private LoggerContext context;
+    private PrintStream showSql;
+    private Logger application;
+    private Logger framework;
+    private Logger sql;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (profile.equals("current")) {
+            root.setLevel(Level.DEBUG);
+            root.addAppender(infoThreshold(file("all.log", pattern("%d{yyyy-MM-dd HH:mm:ss} %-5level - %msg%n"))));
+            root.addAppender(infoThreshold(file("console.log",
+                    pattern("%highlight([%-5level]) %cyan(%d{HH:mm:ss.SSS}) %logger{36} - %msg%n"))));
+            showSql = new PrintStream(new FileOutputStream(directory.resolve("show-sql.log").toFile()), true,
+                    StandardCharsets.UTF_8);
+        } else {
+            root.setLevel(Level.INFO);
+            context.getLogger("org.hibernate.SQL").setLevel(Level.DEBUG);
+
+            RateLimitingTurboFilter rateLimit = new RateLimitingTurboFilter();
+            rateLimit.setPrefix("org.hibernate.SQL");
+            rateLimit.setPermitsPerSecond(50);
+            rateLimit.setContext(context);
+            rateLimit.start();
+            context.addTurboFilter(rateLimit);
+
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setPrefix("com.zaxxer.hikari");
+            sampling.setRate(10);
+            sampling.setContext(context);
+            sampling.start();
+            context.addTurboFilter(sampling);
+
+            StructuredLogEncoder json = new StructuredLogEncoder();
+            json.setFormat("logstash");
+            json.setCharset(StandardCharsets.UTF_8);
+            json.setContext(context);
+            json.start();
+
+            AsyncAppender async = new AsyncAppender();
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.setContext(context);
+            async.addAppender(file("all.json", json));
+            async.start();
+            root.addAppender(async);
+        }
+
+        application = context.getLogger("gr.aueb.cf.schoolapp.service.TeacherService");
+        framework = context.getLogger("com.zaxxer.hikari.pool.HikariPool");
+        sql = context.getLogger("org.hibernate.SQL");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        if (showSql != null) showSql.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void request() {
+        application.info("Teacher with uuid={} fetched by {}", "0f8fad5b-d9cb-469f-a165-70867728950e", "admin");
+        application.debug("Teacher query cache invalidated, generation={}", 42L);
+        framework.debug("HikariPool-1 - Pool stats (total={}, active={}, idle={}, waiting={})", 10, 3, 7, 0);
+        framework.debug("HikariPool-1 - Fill pool skipped, pool has sufficient level or currently being filled.");
+        for (int i = 0; i < 10; i++) {
+            String statement = SQL[i & 1];
+            if (showSql != null) {
+                showSql.println("Hibernate: " + statement);
+            } else {
+                sql.debug(statement);
+            }
+        }
+    }
+
+    private Appender<ILoggingEvent> infoThreshold(FileAppender<ILoggingEvent> appender) {
+        ThresholdFilter threshold = new ThresholdFilter();
+        threshold.setLevel("INFO");
+        threshold.start();
+        appender.addFilter(threshold);
+        return appender;
+    }
+
+    private PatternLayoutEncoder pattern(String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setPattern(pattern);
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
+    private FileAppender<ILoggingEvent> file(String name, Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setFile(directory.resolve(name).toString());
+        appender.setEncoder(encoder);
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,90 @@
+package gr.aueb.cf.schoolapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentModule;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.mapper.Mapper;
+import gr.aueb.cf.schoolapp.model.PersonalInfo;
+import gr.aueb.cf.schoolapp.model.Teacher;
+import gr.aueb.cf.schoolapp.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the current list serialization path (map every entity, serialize
+ * every DTO) with the fragment cache path (map, then copy cached JSON bytes).
+ * Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeacherSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int teachers;
+
+    private final Mapper mapper = new Mapper(null);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private List<Teacher> entities;
+    private ObjectMapper plainMapper;
+    private ObjectMapper cachingMapper;
+
+    @Setup
+    public void setup() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        entities = new ArrayList<>(teachers);
+        for (long i = 1; i <= teachers; i++) {
+            User user = new User();
+            user.setFirstname("Firstname" + i);
+            user.setLastname("Λαστνέιμ" + i);
+            user.setAfm(String.format("%09d", i));
+            user.setUpdatedAt(now);
+
+            PersonalInfo personalInfo = new PersonalInfo();
+            personalInfo.setAmka(String.format("%011d", i));
+            personalInfo.setIdentityNumber("AK" + i);
+            personalInfo.setUpdatedAt(now);
+
+            Teacher teacher = new Teacher();
+            teacher.setId(i);
+            teacher.setUuid(UUID.randomUUID().toString());
+            teacher.setIsActive(true);
+            teacher.setUser(user);
+            teacher.setPersonalInfo(personalInfo);
+            teacher.setUpdatedAt(now);
+            entities.add(teacher);
+        }
+
+        plainMapper = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        cachingMapper = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+                .registerModule(new TeacherJsonFragmentModule(new TeacherJsonFragmentCache(true, 100_000)));
+        // Warm the fragment cache, as it would be for hot teachers
+        cachingMapper.writeValue(sink, map());
+    }
+
+    private List<TeacherReadOnlyDTO> map() {
+        List<TeacherReadOnlyDTO> dtos = new ArrayList<>(entities.size());
+        for (Teacher teacher : entities) {
+            dtos.add(mapper.mapToTeacherReadOnlyDTO(teacher));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public void mapAndSerialize() throws Exception {
+        plainMapper.writeValue(sink, map());
+    }
+
+    @Benchmark
+    public void mapAndWriteCachedFragments() throws Exception {
+        cachingMapper.writeValue(sink, map());
+    }
+}
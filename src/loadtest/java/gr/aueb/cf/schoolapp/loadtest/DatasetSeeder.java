@@ -0,0 +1,122 @@
+package gr.aueb.cf.schoolapp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds users, personal information and teachers with plain JDBC batches.
+ * The data is deterministic (fixed random seed), so runs are comparable, and
+ * seeding is incremental: an existing database is only topped up.
+ */
+public class DatasetSeeder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    public static final String ADMIN_USERNAME = "loadtest.admin@aueb.gr";
+    public static final String ADMIN_PASSWORD = "Loadtest1!";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] FIRSTNAMES = {"Γιώργος", "Μαρία", "Νίκος", "Ελένη", "Κώστας", "Αικατερίνη",
+            "Δημήτρης", "Σοφία", "Γιάννης", "Αναστασία", "Παναγιώτης", "Δέσποινα", "Χρήστος", "Βασιλική"};
+    private static final String[] LASTNAMES = {"Παπαδόπουλος", "Παπαδοπούλου", "Γεωργίου", "Νικολάου", "Οικονόμου",
+            "Δημητρίου", "Ιωάννου", "Κωνσταντίνου", "Αθανασίου", "Βασιλείου", "Χριστοδούλου", "Σαββίδης", "Καραγιάννης"};
+    private static final String[] MUNICIPALITIES = {"Αθηνών", "Θεσσαλονίκης", "Πατρέων", "Ηρακλείου", "Λαρισαίων",
+            "Βόλου", "Ιωαννιτών", "Χανίων"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random = new Random(42);
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public void seed(int teachers) {
+        seedAdmin();
+
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teachers", Long.class);
+        long start = existing == null ? 0 : existing;
+        if (start >= teachers) {
+            LOGGER.warn("Dataset already holds {} teachers, skipping seeding", start);
+            return;
+        }
+
+        // Every seeded teacher shares one hash; BCrypt per row would dominate seeding time
+        String passwordHash = passwordEncoder.encode("Teacher1!");
+        long begin = System.nanoTime();
+
+        for (long from = start + 1; from <= teachers; from += BATCH_SIZE) {
+            long to = Math.min(from + BATCH_SIZE - 1, teachers);
+            insertBatch(from, to, passwordHash);
+            if (to % 100_000 == 0 || to == teachers) {
+                LOGGER.warn("Seeded {} / {} teachers", to, teachers);
+            }
+        }
+
+        restartIdentity("users");
+        restartIdentity("personal_information");
+        restartIdentity("teachers");
+        LOGGER.warn("Seeding finished in {} s", (System.nanoTime() - begin) / 1_000_000_000);
+    }
+
+    private void seedAdmin() {
+        Long admins = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Long.class, ADMIN_USERNAME);
+        if (admins != null && admins > 0) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Ids far above the seeded range so top-ups never collide with the admin row
+        jdbcTemplate.update("INSERT INTO users (id, username, password, firstname, lastname, afm, father_name, mother_name, "
+                        + "father_lastname, mother_lastname, date_of_birth, gender, role, is_active, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, 'Load', 'Test', '999999999', '-', '-', '-', '-', ?, 'OTHER', 'SUPER_ADMIN', TRUE, ?, ?)",
+                900_000_000L, ADMIN_USERNAME, passwordEncoder.encode(ADMIN_PASSWORD), LocalDate.of(1980, 1, 1), now, now);
+    }
+
+    private void insertBatch(long from, long to, String passwordHash) {
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> personalInfos = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> teachers = new ArrayList<>(BATCH_SIZE);
+
+        for (long id = from; id <= to; id++) {
+            boolean female = random.nextBoolean();
+            boolean active = random.nextInt(10) != 0;
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(5 * 365 * 24 * 60)));
+            Timestamp updatedAt = Timestamp.valueOf(createdAt.toLocalDateTime().plusMinutes(random.nextInt(60 * 24 * 30)));
+
+            users.add(new Object[] {id, "teacher" + id + "@aueb.gr", passwordHash, pick(FIRSTNAMES), pick(LASTNAMES),
+                    String.format("%09d", id), pick(FIRSTNAMES), pick(FIRSTNAMES), pick(LASTNAMES), pick(LASTNAMES),
+                    LocalDate.of(1955 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    female ? "FEMALE" : "MALE", "TEACHER", active, createdAt, updatedAt});
+            personalInfos.add(new Object[] {id, String.format("%011d", id), "AK" + id, pick(MUNICIPALITIES),
+                    pick(MUNICIPALITIES), createdAt, updatedAt});
+            teachers.add(new Object[] {id, UUID.randomUUID().toString(), active, id, id, createdAt, updatedAt});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, firstname, lastname, afm, father_name, "
+                + "mother_name, father_lastname, mother_lastname, date_of_birth, gender, role, is_active, created_at, "
+                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO personal_information (id, amka, identity_number, place_of_birth, "
+                + "municipality_of_registration, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", personalInfos);
+        jdbcTemplate.batchUpdate("INSERT INTO teachers (id, uuid, is_active, personal_info_id, user_id, created_at, "
+                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", teachers);
+    }
+
+    private void restartIdentity(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table + " WHERE id < 900000000", Long.class);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (max + 1));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
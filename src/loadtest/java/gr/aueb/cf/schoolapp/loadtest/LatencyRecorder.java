@@ -0,0 +1,71 @@
+package gr.aueb.cf.schoolapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latencies for one worker thread without synchronization; the
+ * per-thread recorders are merged once the scenario is over.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1 << 14];
+    private int count;
+    private long errors;
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public long error() {
+        return ++errors;
+    }
+
+    public static Result merge(String scenario, LatencyRecorder[] recorders, double seconds) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+
+        return new Result(scenario, total, errors, total / seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.90), percentileMillis(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public record Result(String scenario, long requests, long errors, double throughput,
+                         double p50, double p90, double p99, double max) {
+
+        public static String header() {
+            return String.format("%-34s %9s %7s %10s %9s %9s %9s %9s",
+                    "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        }
+
+        public String toRow() {
+            return String.format("%-34s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                    scenario, requests, errors, throughput, p50, p90, p99, max);
+        }
+
+        public String toCsv() {
+            return String.format("%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                    scenario, requests, errors, throughput, p50, p90, p99, max);
+        }
+    }
+}
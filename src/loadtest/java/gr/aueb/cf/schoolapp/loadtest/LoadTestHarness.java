@@ -0,0 +1,357 @@
+package gr.aueb.cf.schoolapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.schoolapp.SchoolAppApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds an embedded H2 database in MySQL mode, starts the application on it
+ * and drives every {@code TeacherRestController} and
+ * {@code TeacherReactiveRestController} endpoint at a fixed concurrency,
+ * reporting p50/p90/p99 latency and throughput per endpoint.
+ * <p>
+ * Settings (system properties, all optional):
+ * <ul>
+ *     <li>{@code loadtest.teachers} - dataset size, default 1,000,000</li>
+ *     <li>{@code loadtest.concurrency} - concurrent clients per scenario, default 32</li>
+ *     <li>{@code loadtest.warmup-seconds} / {@code loadtest.duration-seconds} - default 5 / 20</li>
+ *     <li>{@code loadtest.scenarios} - comma separated subset of scenario names</li>
+ *     <li>{@code loadtest.base-url} - drive an already running server instead of starting one</li>
+ *     <li>{@code loadtest.args} - extra application arguments, e.g. {@code --spring.threads.virtual.enabled=true}</li>
+ *     <li>{@code loadtest.modes} - {@code platform,virtual} runs every scenario once per request thread mode,
+ *     restarting the application in between, and prints throughput and p99 side by side. Virtual threads
+ *     need Java 21 ({@code gradle loadTest -PjavaVersion=21}).</li>
+ * </ul>
+ */
+public class LoadTestHarness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong uniqueSequence = new AtomicLong(System.currentTimeMillis() % 100_000_000L);
+
+    private final String baseUrl;
+    private final int teachers;
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private String token;
+
+    LoadTestHarness(String baseUrl, int teachers, int concurrency, int warmupSeconds, int durationSeconds) {
+        this.baseUrl = baseUrl;
+        this.teachers = teachers;
+        this.concurrency = concurrency;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int teachers = Integer.getInteger("loadtest.teachers", 1_000_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int warmup = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int duration = Integer.getInteger("loadtest.duration-seconds", 20);
+        String externalUrl = System.getProperty("loadtest.base-url");
+        List<String> modes = threadModes();
+
+        try {
+            if (externalUrl != null) {
+                LoadTestHarness harness = new LoadTestHarness(externalUrl, teachers, concurrency, warmup, duration);
+                harness.authenticate();
+                harness.runAll(selectedScenarios(), "external");
+                return;
+            }
+
+            Map<String, List<LatencyRecorder.Result>> resultsByMode = new LinkedHashMap<>();
+            for (String mode : modes) {
+                ConfigurableApplicationContext context = start(mode);
+                try {
+                    new DatasetSeeder(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class)).seed(teachers);
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port, teachers, concurrency, warmup, duration);
+                    harness.authenticate();
+                    resultsByMode.put(mode, harness.runAll(selectedScenarios(), mode));
+                } finally {
+                    context.close();
+                }
+            }
+            if (resultsByMode.size() > 1) System.out.println(compare(resultsByMode));
+        } finally {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * The request thread modes to run: {@code default} (whatever the
+     * configuration says) unless {@code loadtest.modes} lists
+     * {@code platform} and/or {@code virtual}.
+     */
+    private static List<String> threadModes() {
+        String modes = System.getProperty("loadtest.modes");
+        if (modes == null || modes.isBlank()) return List.of("default");
+
+        List<String> selected = new ArrayList<>();
+        for (String mode : modes.split(",")) {
+            mode = mode.trim();
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode '" + mode + "', expected platform or virtual");
+            }
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                LOGGER.warn("Skipping virtual threads: running on Java {}, run with -PjavaVersion=21", Runtime.version().feature());
+                continue;
+            }
+            selected.add(mode);
+        }
+        return selected;
+    }
+
+    private static String compare(Map<String, List<LatencyRecorder.Result>> resultsByMode) {
+        List<String> modes = new ArrayList<>(resultsByMode.keySet());
+        StringBuilder report = new StringBuilder(String.format("%-34s", "scenario"));
+        for (String mode : modes) {
+            report.append(String.format(" %14s %14s", mode + " req/s", mode + " p99"));
+        }
+        report.append('\n');
+
+        List<LatencyRecorder.Result> first = resultsByMode.get(modes.get(0));
+        for (int i = 0; i < first.size(); i++) {
+            report.append(String.format("%-34s", first.get(i).scenario()));
+            for (String mode : modes) {
+                LatencyRecorder.Result result = resultsByMode.get(mode).get(i);
+                report.append(String.format(" %14.1f %14.2f", result.throughput(), result.p99()));
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        List<String> appArgs = new ArrayList<>(List.of("--spring.profiles.active=loadtest", "--server.port=0"));
+        if (!mode.equals("default")) {
+            appArgs.add("--spring.threads.virtual.enabled=" + mode.equals("virtual"));
+        }
+        String extra = System.getProperty("loadtest.args");
+        if (extra != null && !extra.isBlank()) {
+            appArgs.addAll(Arrays.asList(extra.trim().split("\\s+")));
+        }
+        return SpringApplication.run(SchoolAppApplication.class, appArgs.toArray(String[]::new));
+    }
+
+    private static Set<String> selectedScenarios() {
+        String selected = System.getProperty("loadtest.scenarios");
+        if (selected == null || selected.isBlank()) return Set.of();
+        return Arrays.stream(selected.split(",")).map(String::trim).collect(Collectors.toSet());
+    }
+
+    private Map<String, Function<ThreadLocalRandom, HttpRequest>> scenarios() {
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> scenarios = new LinkedHashMap<>();
+
+        scenarios.put("GET /teachers", r -> get("/api/teachers?page=" + r.nextInt(100) + "&size=10"));
+        scenarios.put("POST /teachers/all by afm", r -> post("/api/teachers/all",
+                "{\"userAfm\":\"" + randomAfm(r) + "\"}"));
+        scenarios.put("POST /teachers/all/paginated active", r -> post("/api/teachers/all/paginated",
+                "{\"isActive\":true,\"page\":" + r.nextInt(100) + ",\"pageSize\":10}"));
+        scenarios.put("POST /teachers/all/paginated lastname", r -> post("/api/teachers/all/paginated",
+                "{\"page\":" + r.nextInt(100) + ",\"pageSize\":10,\"sortBy\":\"user.lastname\"}"));
+        scenarios.put("GET /teachers/all by afm", r -> get("/api/teachers/all?userAfm=" + randomAfm(r)));
+        scenarios.put("GET /teachers/all/paginated active", r -> get("/api/teachers/all/paginated?isActive=true&page="
+                + r.nextInt(100) + "&pageSize=10"));
+        scenarios.put("GET /teachers/all/paginated 304", conditionalGet("/api/teachers/all/paginated?isActive=true&pageSize=10"));
+        scenarios.put("POST /teachers/save", r -> saveTeacher());
+
+        // Servlet and reactive pairs, compare at high loadtest.concurrency
+        List<String> uuids = sampleUuids();
+        scenarios.put("GET /teachers/{uuid}", r -> get("/api/teachers/" + uuids.get(r.nextInt(uuids.size()))));
+        scenarios.put("GET /teachers/reactive/{uuid}", r -> get("/api/teachers/reactive/" + uuids.get(r.nextInt(uuids.size()))));
+        scenarios.put("GET /teachers/reactive/all by afm", r -> get("/api/teachers/reactive/all?userAfm=" + randomAfm(r)));
+        scenarios.put("GET /teachers/reactive/all/paginated active", r -> get("/api/teachers/reactive/all/paginated?isActive=true&page="
+                + r.nextInt(100) + "&pageSize=10"));
+        return scenarios;
+    }
+
+    private List<LatencyRecorder.Result> runAll(Set<String> selected, String mode) throws Exception {
+        List<LatencyRecorder.Result> results = new ArrayList<>();
+        for (var scenario : scenarios().entrySet()) {
+            if (!selected.isEmpty() && !selected.contains(scenario.getKey())) continue;
+            LOGGER.warn("Running '{}' with {} clients for {} s ({} threads)", scenario.getKey(), concurrency, durationSeconds, mode);
+            results.add(run(scenario.getKey(), scenario.getValue()));
+        }
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("teachers=%d concurrency=%d duration=%ds threads=%s%n", teachers, concurrency, durationSeconds, mode))
+                .append(LatencyRecorder.Result.header()).append('\n');
+        results.forEach(result -> report.append(result.toRow()).append('\n'));
+        System.out.println(report);
+
+        Path csv = Path.of("results-" + mode + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        Files.writeString(csv, "scenario,requests,errors,throughput,p50,p90,p99,max\n"
+                + results.stream().map(LatencyRecorder.Result::toCsv).collect(Collectors.joining("\n")) + "\n");
+        LOGGER.warn("Results written to {}", csv.toAbsolutePath());
+        return results;
+    }
+
+    private LatencyRecorder.Result run(String name, Function<ThreadLocalRandom, HttpRequest> requests) throws Exception {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = recorders[i] = new LatencyRecorder();
+            workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    try {
+                        HttpResponse<byte[]> response = client.send(requests.apply(random), HttpResponse.BodyHandlers.ofByteArray());
+                        long done = System.nanoTime();
+                        if (done < warmupEnd) continue;
+                        long elapsed = done - now;
+                        if (response.statusCode() >= 400) {
+                            if (recorder.error() == 1) {
+                                LOGGER.warn("'{}' answered {}: {}", name, response.statusCode(),
+                                        new String(response.body(), StandardCharsets.UTF_8));
+                            }
+                            backOff(response);
+                        } else {
+                            recorder.record(elapsed);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        if (System.nanoTime() >= warmupEnd) recorder.error();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+        return LatencyRecorder.merge(name, recorders, durationSeconds);
+    }
+
+    /**
+     * Waits as long as a {@code 503} asks, like a well-behaved client, so shed
+     * requests are not retried in a tight loop.
+     */
+    private static void backOff(HttpResponse<?> response) throws InterruptedException {
+        if (response.statusCode() != 503) return;
+        long seconds = response.headers().firstValue("Retry-After").map(Long::parseLong).orElse(0L);
+        if (seconds > 0) Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private void authenticate() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + DatasetSeeder.ADMIN_USERNAME
+                        + "\",\"password\":\"" + DatasetSeeder.ADMIN_PASSWORD + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Authentication failed with " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private Function<ThreadLocalRandom, HttpRequest> conditionalGet(String path) {
+        String eTag;
+        try {
+            eTag = client.send(get(path), HttpResponse.BodyHandlers.discarding()).headers().firstValue("ETag").orElse("");
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Could not fetch the ETag of " + path, e);
+        }
+        return r -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", eTag)
+                .GET()
+                .build();
+    }
+
+    private List<String> sampleUuids() {
+        try {
+            HttpResponse<String> response = client.send(get("/api/teachers/all/paginated?pageSize=1000"),
+                    HttpResponse.BodyHandlers.ofString());
+            List<String> uuids = new ArrayList<>();
+            objectMapper.readTree(response.body()).get("data").forEach(teacher -> uuids.add(teacher.get("uuid").asText()));
+            if (uuids.isEmpty()) throw new IllegalStateException("No teachers to look up by uuid");
+            return uuids;
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Could not sample teacher uuids", e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest saveTeacher() {
+        long n = 100_000_000L + uniqueSequence.incrementAndGet();
+        String boundary = "----loadtest" + n;
+        String teacher = "{\"isActive\":true,"
+                + "\"user\":{\"firstname\":\"Load\",\"lastname\":\"Test\",\"username\":\"lt" + n + "@aueb.gr\","
+                + "\"password\":\"Teacher1!\",\"afm\":\"" + String.format("%09d", n) + "\",\"fatherName\":\"A\","
+                + "\"fatherLastname\":\"B\",\"motherName\":\"C\",\"motherLastname\":\"D\",\"dateOfBirth\":\"1985-05-05\","
+                + "\"gender\":\"FEMALE\",\"role\":\"TEACHER\"},"
+                + "\"personalInfo\":{\"amka\":\"" + String.format("%011d", n) + "\",\"identityNumber\":\"LT" + n + "\","
+                + "\"placeOfBirth\":\"Athens\",\"municipalityOfRegistration\":\"Athens\"}}";
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"teacher\"\r\n"
+                + "Content-Type: application/json\r\n\r\n" + teacher + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"amkaFile\"; filename=\"amka.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\nload test\r\n"
+                + "--" + boundary + "--\r\n";
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/teachers/save"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private String randomAfm(ThreadLocalRandom random) {
+        return String.format("%09d", 1 + random.nextInt(teachers));
+    }
+}
@@ -0,0 +1,114 @@
+package gr.aueb.cf.schoolapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gr.aueb.cf.schoolapp.SchoolAppApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application on an in-memory H2 database with springdoc enabled,
+ * fetches {@code /v3/api-docs} and writes it to {@code openapi.output-dir} as
+ * {@code openapi-<hash>.json}, named after its content so it can be cached
+ * indefinitely. Next to it goes an {@code index.html} that opens that file in
+ * the Swagger UI of the {@code swagger-ui} webjar, so production needs neither
+ * springdoc's scanning nor its UI endpoints. The {@code generateOpenApi} task
+ * packs both into the boot jar.
+ */
+public class OpenApiSpecGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Path outputDir = Path.of(System.getProperty("openapi.output-dir", "openapi"));
+
+        ConfigurableApplicationContext context = SpringApplication.run(SchoolAppApplication.class,
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+                "--app.datasource.reactive.url=r2dbc:h2:mem:///openapi?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+                "--springdoc.api-docs.enabled=true");
+        int status = 1;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/api-docs")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("/v3/api-docs answered " + response.statusCode() + ": " + response.body());
+            }
+
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            ObjectNode spec = (ObjectNode) objectMapper.readTree(response.body());
+            // The server springdoc derives from this request; the UI falls back to its own origin
+            spec.remove("servers");
+            byte[] json = objectMapper.writeValueAsBytes(spec);
+
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json)).substring(0, 16);
+            String fileName = "openapi-" + hash + ".json";
+
+            Files.createDirectories(outputDir);
+            try (Stream<Path> previous = Files.list(outputDir)) {
+                for (Path file : previous.toList()) Files.delete(file);
+            }
+            Files.write(outputDir.resolve(fileName), json);
+            Files.writeString(outputDir.resolve("index.html"), indexPage(fileName), StandardCharsets.UTF_8);
+            System.out.println("OpenAPI document written to " + outputDir.resolve(fileName).toAbsolutePath());
+            status = 0;
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            context.close();
+            // A failed generation has to fail the build
+            System.exit(status);
+        }
+    }
+
+    private static String indexPage(String fileName) throws IOException {
+        String swaggerUi = "/webjars/swagger-ui/" + swaggerUiVersion();
+        return """
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                    <meta charset="UTF-8">
+                    <title>School API</title>
+                    <link rel="stylesheet" href="%1$s/swagger-ui.css">
+                </head>
+                <body>
+                <div id="swagger-ui"></div>
+                <script src="%1$s/swagger-ui-bundle.js"></script>
+                <script>
+                    window.ui = SwaggerUIBundle({ url: "/openapi/%2$s", dom_id: "#swagger-ui" });
+                </script>
+                </body>
+                </html>
+                """.formatted(swaggerUi, fileName);
+    }
+
+    /**
+     * The version directory of the swagger-ui webjar on the classpath, so the
+     * page does not depend on webjar version resolution at runtime.
+     */
+    private static String swaggerUiVersion() throws IOException {
+        try (InputStream pom = OpenApiSpecGenerator.class.getResourceAsStream("/META-INF/maven/org.webjars/swagger-ui/pom.properties")) {
+            if (pom == null) throw new IllegalStateException("The swagger-ui webjar is not on the classpath");
+            Properties properties = new Properties();
+            properties.load(pom);
+            return properties.getProperty("version");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package gr.aueb.cf.schoolapp.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the extracted application ({@code gradle extractBootJar}) in a new
+ * JVM per run and measures the time from launching the process to the first
+ * answered request, for each startup variant:
+ * <ul>
+ *     <li>{@code default} - the {@code prod} profile as it is</li>
+ *     <li>{@code fast-startup} - {@code prod,fast-startup}: deferred repository bootstrap</li>
+ *     <li>{@code aot} - as above plus the AOT-generated bean definitions</li>
+ *     <li>{@code aot-cds} - as above plus the AppCDS archive ({@code gradle appCdsArchive})</li>
+ * </ul>
+ * Every variant runs on the same embedded H2 file database. One start before
+ * the measured ones applies the schema migrations, so every measured start
+ * only validates them, as in production.
+ * <p>
+ * Settings (system properties, all optional):
+ * <ul>
+ *     <li>{@code startup.runs} - measured runs per variant, default 5</li>
+ *     <li>{@code startup.variants} - comma separated subset of the variants above</li>
+ *     <li>{@code startup.timeout-seconds} - give up on a run after this long, default 120</li>
+ * </ul>
+ * {@code startup.java}, {@code startup.app-jar} and {@code startup.extra-classpath}
+ * are set by the {@code startupBenchmark} task.
+ */
+public class StartupBenchmark {
+
+    private static final List<String> VARIANTS = List.of("default", "fast-startup", "aot", "aot-cds");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final String java;
+    private final Path appJar;
+    private final String extraClasspath;
+    private final long timeoutNanos;
+
+    StartupBenchmark(String java, Path appJar, String extraClasspath, long timeoutNanos) {
+        this.java = java;
+        this.appJar = appJar;
+        this.extraClasspath = extraClasspath;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path appJar = Path.of(required("startup.app-jar"));
+        StartupBenchmark benchmark = new StartupBenchmark(required("startup.java"), appJar,
+                System.getProperty("startup.extra-classpath", ""),
+                TimeUnit.SECONDS.toNanos(Integer.getInteger("startup.timeout-seconds", 120)));
+
+        benchmark.run("default", List.of("--app.schema.on-boot=migrate"));
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        for (String variant : selectedVariants()) {
+            if (variant.equals("aot-cds") && !Files.exists(appJar.resolveSibling("application.jsa"))) {
+                System.out.println("Skipping aot-cds: run 'gradle appCdsArchive' first");
+                continue;
+            }
+            // The first launch of each variant warms the OS file cache and is not counted
+            benchmark.run(variant, List.of());
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = benchmark.run(variant, List.of());
+                System.out.printf("%-14s run %d: %d ms%n", variant, i + 1, millis[i]);
+            }
+            Arrays.sort(millis);
+            results.put(variant, millis);
+        }
+        System.out.println(report(results, runs));
+    }
+
+    private static List<String> selectedVariants() {
+        String selected = System.getProperty("startup.variants");
+        List<String> variants = selected == null || selected.isBlank()
+                ? VARIANTS
+                : Arrays.stream(selected.split(",")).map(String::trim).toList();
+        for (String variant : variants) {
+            if (!VARIANTS.contains(variant)) {
+                throw new IllegalArgumentException("Unknown startup variant '" + variant + "', expected one of " + VARIANTS);
+            }
+        }
+        return variants;
+    }
+
+    private static String report(Map<String, long[]> results, int runs) {
+        StringBuilder report = new StringBuilder(String.format("time to first request, %d runs%n", runs))
+                .append(String.format("%-14s %8s %8s %8s%n", "variant", "min ms", "median", "max ms"));
+        results.forEach((variant, millis) -> report.append(String.format("%-14s %8d %8d %8d%n",
+                variant, millis[0], millis[millis.length / 2], millis[millis.length - 1])));
+        return report.toString();
+    }
+
+    /**
+     * Launches the application for one variant, polls the health endpoint
+     * until it answers and stops the process again.
+     *
+     * @param extraArgs application arguments added after the variant's own
+     * @return milliseconds from launching the JVM to the first {@code 200}
+     */
+    long run(String variant, List<String> extraArgs) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = command(variant, port);
+        command.addAll(extraArgs);
+        Path log = Path.of("startup-" + variant + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(new File("."))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant + " exited with " + process.exitValue() + ", see " + log.toAbsolutePath());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant + " did not answer within the timeout, see " + log.toAbsolutePath());
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+
+    private List<String> command(String variant, int port) {
+        List<String> command = new ArrayList<>(List.of(java, "-Xshare:auto"));
+        if (variant.startsWith("aot")) command.add("-Dspring.aot.enabled=true");
+        if (variant.equals("aot-cds")) {
+            command.add("-XX:SharedArchiveFile=" + appJar.resolveSibling("application.jsa"));
+        }
+        // The application jar comes first so the classpath still matches the one the archive was dumped with
+        String classpath = extraClasspath.isBlank() ? appJar.toString() : appJar + File.pathSeparator + extraClasspath;
+        command.addAll(List.of("-cp", classpath, "gr.aueb.cf.schoolapp.SchoolAppApplication"));
+
+        command.add("--spring.profiles.active=" + (variant.equals("default") ? "prod" : "prod,fast-startup"));
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:file:./schooldb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        command.add("--spring.datasource.driverClassName=org.h2.Driver");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--app.datasource.reactive.url=r2dbc:h2:file:///./schooldb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        command.add("--app.datasource.reactive.username=sa");
+        command.add("--app.datasource.reactive.password=");
+        command.add("--logging.level.root=WARN");
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(property + " is not set, run through 'gradle startupBenchmark'");
+        }
+        return value;
+    }
+}
@@ -1,5 +1,7 @@
 package gr.aueb.cf.schoolapp.authentication;
 
+import gr.aueb.cf.schoolapp.core.datasource.Workload;
+import gr.aueb.cf.schoolapp.core.datasource.WorkloadType;
 import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotAuthorizedException;
 import gr.aueb.cf.schoolapp.dto.AuthenticationRequestDTO;
 import gr.aueb.cf.schoolapp.dto.AuthenticationResponseDTO;
@@ -21,6 +23,8 @@ public class AuthenticationService {
     private final UserRepository userRepository;
 
 
+    // No surrounding transaction: the BCrypt check must not hold a connection
+    @Workload(WorkloadType.AUTH)
     public AuthenticationResponseDTO authenticate(AuthenticationRequestDTO dto)
             throws AppObjectNotAuthorizedException {
 
@@ -9,6 +9,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +18,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -61,7 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 } else {
-                    LOGGER.warn("Token is not valid" + request.getRequestURI());
+                    LOGGER.warn("Token is not valid {}", request.getRequestURI());
                 }
             }
         } catch (ExpiredJwtException e) {
@@ -71,6 +74,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jsonBody = "{\"code\": \"expired token\", \"message\"" + e.getMessage() + "\"}";
             response.getWriter().write(jsonBody);
             return;
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            // The user lookup could not get a connection; not the client's fault
+            LOGGER.warn("WARN: Could not load user for JWT: {}", e.getMessage());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"code\": \"DatabaseUnavailable\", \"message\": \"No database connection available, retry later\"}");
+            return;
         } catch (Exception e) {
             LOGGER.warn("WARN: Something went wrong while parsing JWT ", e);
             response.setStatus(HttpStatus.FORBIDDEN.value());
@@ -0,0 +1,39 @@
+package gr.aueb.cf.schoolapp.authentication;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Serves the OpenAPI document and docs page generated at build time
+ * ({@code gradle generateOpenApi}) from {@code classpath:/openapi/}. The
+ * document's file name carries a hash of its content, so clients and proxies
+ * may keep it for {@code app.openapi.max-age-days}; a changed API gets a new
+ * URL through a new page, which is revalidated on every visit.
+ */
+@Configuration
+public class OpenApiResourceConfig implements WebMvcConfigurer {
+
+    @Value("${app.openapi.max-age-days:365}")
+    private long maxAgeDays;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/openapi/openapi-*.json")
+                .addResourceLocations("classpath:/openapi/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(maxAgeDays)).cachePublic());
+        registry.addResourceHandler("/openapi/index.html")
+                .addResourceLocations("classpath:/openapi/")
+                .setCacheControl(CacheControl.noCache());
+    }
+
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        registry.addRedirectViewController("/openapi", "/openapi/index.html");
+    }
+}
@@ -2,8 +2,12 @@ package gr.aueb.cf.schoolapp.core;
 
 import gr.aueb.cf.schoolapp.core.exceptions.*;
 import gr.aueb.cf.schoolapp.dto.ResponseMessageDTO;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -52,4 +56,17 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
     public ResponseEntity<ResponseMessageDTO> handleConstraintViolationException(AppServerException e) {
         return new ResponseEntity<>(new ResponseMessageDTO(e.getCode(), e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<ResponseMessageDTO> handleVersionConflict(OptimisticLockingFailureException e) {
+        return new ResponseEntity<>(new ResponseMessageDTO("VersionConflict",
+                "The record was changed in the meantime, reload it and apply the changes again"), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ResponseMessageDTO> handleDatabaseUnavailable(Exception e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseMessageDTO("DatabaseUnavailable", "No database connection available, retry later"));
+    }
 }
@@ -0,0 +1,102 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.RegionReadOnlyDTO;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable copy of the regions and educational units. Lookups binary
+ * search a sorted {@code long[]} of ids, so no key is boxed and nothing
+ * reaches back into JPA.
+ * <p>
+ * The version is a digest of the content. Two loads of the same rows give the
+ * same version, which serves as the strong ETag of every reference data
+ * response.
+ */
+public final class ReferenceDataSnapshot {
+
+    private final long[] regionIds;
+    private final RegionReadOnlyDTO[] regions;
+    private final List<List<EducationalUnitReadOnlyDTO>> unitsByRegion;
+    private final long[] unitIds;
+    private final EducationalUnitReadOnlyDTO[] units;
+    private final List<RegionReadOnlyDTO> regionList;
+    private final List<EducationalUnitReadOnlyDTO> unitList;
+    private final String version;
+
+    public ReferenceDataSnapshot(List<RegionReadOnlyDTO> regions, List<EducationalUnitReadOnlyDTO> units) {
+        this.regions = regions.stream().sorted(Comparator.comparingLong(RegionReadOnlyDTO::getId))
+                .toArray(RegionReadOnlyDTO[]::new);
+        this.regionIds = Arrays.stream(this.regions).mapToLong(RegionReadOnlyDTO::getId).toArray();
+        this.units = units.stream().sorted(Comparator.comparingLong(EducationalUnitReadOnlyDTO::getId))
+                .toArray(EducationalUnitReadOnlyDTO[]::new);
+        this.unitIds = Arrays.stream(this.units).mapToLong(EducationalUnitReadOnlyDTO::getId).toArray();
+
+        List<List<EducationalUnitReadOnlyDTO>> byRegion = new ArrayList<>(this.regions.length);
+        for (int i = 0; i < this.regions.length; i++) byRegion.add(new ArrayList<>());
+        StringBuilder content = new StringBuilder();
+        for (RegionReadOnlyDTO region : this.regions) {
+            content.append('r').append(region.getId()).append('\t').append(region.getName()).append('\n');
+        }
+        for (EducationalUnitReadOnlyDTO unit : this.units) {
+            int region = unit.getRegionId() == null ? -1 : Arrays.binarySearch(regionIds, unit.getRegionId());
+            if (region >= 0) byRegion.get(region).add(unit);
+            content.append('u').append(unit.getId()).append('\t').append(unit.getName())
+                    .append('\t').append(unit.getRegionId()).append('\n');
+        }
+        this.unitsByRegion = byRegion.stream().map(List::copyOf).toList();
+        this.regionList = List.of(this.regions);
+        this.unitList = List.of(this.units);
+        this.version = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    public RegionReadOnlyDTO region(long id) {
+        int index = Arrays.binarySearch(regionIds, id);
+        return index < 0 ? null : regions[index];
+    }
+
+    @Nullable
+    public EducationalUnitReadOnlyDTO educationalUnit(long id) {
+        int index = Arrays.binarySearch(unitIds, id);
+        return index < 0 ? null : units[index];
+    }
+
+    public RegionReadOnlyDTO requireRegion(long id) throws AppObjectNotFoundException {
+        RegionReadOnlyDTO region = region(id);
+        if (region == null) throw new AppObjectNotFoundException("Region", "Region with id " + id + " not found");
+        return region;
+    }
+
+    public EducationalUnitReadOnlyDTO requireEducationalUnit(long id) throws AppObjectNotFoundException {
+        EducationalUnitReadOnlyDTO unit = educationalUnit(id);
+        if (unit == null) throw new AppObjectNotFoundException("EducationalUnit", "Educational unit with id " + id + " not found");
+        return unit;
+    }
+
+    public List<EducationalUnitReadOnlyDTO> educationalUnitsOfRegion(long regionId) throws AppObjectNotFoundException {
+        int index = Arrays.binarySearch(regionIds, regionId);
+        if (index < 0) throw new AppObjectNotFoundException("Region", "Region with id " + regionId + " not found");
+        return unitsByRegion.get(index);
+    }
+
+    public List<RegionReadOnlyDTO> regions() {
+        return regionList;
+    }
+
+    public List<EducationalUnitReadOnlyDTO> educationalUnits() {
+        return unitList;
+    }
+
+    public String version() {
+        return version;
+    }
+}
@@ -0,0 +1,168 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Head counts per educational unit and per region, plus the teacher totals,
+ * held in memory so the staffing dashboard never walks the assignments.
+ * <p>
+ * {@link #reset} installs the result of a full {@code GROUP BY}; in between,
+ * the writes that change an assignment or a teacher add their delta. A
+ * region's counts are the sum of its units', so an employee assigned to two
+ * units of the same region counts twice there. Deltas for a unit the counters
+ * do not know yet, or that cannot be determined exactly, mark the counters
+ * {@link #isStale() stale} so the next read reconciles them.
+ */
+public final class StaffingCounters {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, long[]> units = new HashMap<>();
+    private final Map<Long, long[]> regions = new HashMap<>();
+    private final Map<Long, Long> regionOfUnit = new HashMap<>();
+    private final long[] teachers = new long[2];
+    private boolean loaded;
+    private boolean stale;
+
+    /**
+     * Replaces every count.
+     *
+     * @param unitCounts   employees and active employees per unit id
+     * @param regionOfUnit region id per unit id; units without a region are only counted per unit
+     */
+    public void reset(Map<Long, Counts> unitCounts, Map<Long, Long> regionOfUnit, Counts teacherCounts) {
+        lock.lock();
+        try {
+            units.clear();
+            regions.clear();
+            this.regionOfUnit.clear();
+            this.regionOfUnit.putAll(regionOfUnit);
+            regionOfUnit.forEach((unitId, regionId) -> {
+                units.put(unitId, new long[2]);
+                if (regionId != null) regions.putIfAbsent(regionId, new long[2]);
+            });
+            unitCounts.forEach(this::addToUnit);
+            teachers[0] = teacherCounts.total();
+            teachers[1] = teacherCounts.active();
+            loaded = true;
+            stale = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds employee deltas per unit id; negative counts remove assignments.
+     */
+    public void addEmployees(Map<Long, Counts> unitDeltas) {
+        lock.lock();
+        try {
+            if (!loaded) return;
+            unitDeltas.forEach((unitId, delta) -> {
+                if (!units.containsKey(unitId)) {
+                    stale = true;
+                    return;
+                }
+                addToUnit(unitId, delta);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void addTeachers(Counts delta) {
+        lock.lock();
+        try {
+            if (!loaded) return;
+            teachers[0] += delta.total();
+            teachers[1] += delta.active();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces a reconciliation before the next read, for writes whose delta is not known.
+     */
+    public void markStale() {
+        lock.lock();
+        try {
+            stale = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.lock();
+        try {
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isStale() {
+        lock.lock();
+        try {
+            return stale;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Counts unit(long unitId) {
+        lock.lock();
+        try {
+            return counts(units.get(unitId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Counts region(long regionId) {
+        lock.lock();
+        try {
+            return counts(regions.get(regionId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Counts teachers() {
+        lock.lock();
+        try {
+            return counts(teachers);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addToUnit(long unitId, Counts delta) {
+        add(units.computeIfAbsent(unitId, id -> new long[2]), delta);
+        Long regionId = regionOfUnit.get(unitId);
+        if (regionId != null) add(regions.computeIfAbsent(regionId, id -> new long[2]), delta);
+    }
+
+    private static void add(long[] counts, Counts delta) {
+        counts[0] += delta.total();
+        counts[1] += delta.active();
+    }
+
+    private static Counts counts(long[] counts) {
+        return counts == null ? Counts.NONE : new Counts(counts[0], counts[1]);
+    }
+
+    /**
+     * A head count and how many of those are active, or the change to both.
+     */
+    public record Counts(long total, long active) {
+
+        public static final Counts NONE = new Counts(0, 0);
+
+        public Counts negate() {
+            return new Counts(-total, -active);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener attached to {@code Teacher}, {@code User} and
+ * {@code PersonalInfo}. Hibernate obtains it through Spring, so the cache is
+ * injected by constructor. It is looked up on first use rather than when the
+ * listener is created, since with deferred repository bootstrap the listener
+ * is created on a background thread while the main thread is still creating
+ * singletons, and resolving the cache there would deadlock.
+ * <p>
+ * The cache is invalidated when the change is flushed and once more after the
+ * transaction completes, so a read that repopulates the cache between flush
+ * and commit (still seeing the old rows) is not served afterwards.
+ */
+public class TeacherDataChangeListener {
+
+    private static final Object SYNCHRONIZATION_KEY = new Object();
+
+    private final ObjectProvider<TeacherQueryCache> teacherQueryCache;
+
+    public TeacherDataChangeListener(ObjectProvider<TeacherQueryCache> teacherQueryCache) {
+        this.teacherQueryCache = teacherQueryCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        teacherQueryCache.getObject().invalidateAll();
+
+        // One after-completion hook per transaction, however many rows it touches
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(SYNCHRONIZATION_KEY)) {
+            TransactionSynchronizationManager.bindResource(SYNCHRONIZATION_KEY, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SYNCHRONIZATION_KEY);
+                    teacherQueryCache.getObject().invalidateAll();
+                }
+            });
+        }
+    }
+}
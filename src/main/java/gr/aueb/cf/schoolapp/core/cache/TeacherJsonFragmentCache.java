@@ -0,0 +1,119 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the serialized JSON of each teacher, keyed by teacher id and
+ * stamped with the entity version it was produced from. A fragment is only
+ * reused while the version matches, so any update to the teacher, its user
+ * or its personal info is picked up on the next serialization.
+ * <p>
+ * Bounded like {@link TeacherQueryCache}: past {@code max-entries} the least
+ * recently used fragment is dropped.
+ */
+@Component
+public class TeacherJsonFragmentCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Fragment> fragments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TeacherJsonFragmentCache(@Value("${app.teachers.json-cache.enabled:true}") boolean enabled,
+                                    @Value("${app.teachers.json-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.fragments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Fragment> eldest) {
+                if (size() > TeacherJsonFragmentCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public SerializableString get(Long id, LocalDateTime version) {
+        Fragment fragment;
+        lock.lock();
+        try {
+            fragment = fragments.get(id);
+        } finally {
+            lock.unlock();
+        }
+
+        if (fragment != null && fragment.version.equals(version)) {
+            hits.increment();
+            return fragment.json;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public SerializableString put(Long id, LocalDateTime version, byte[] json) {
+        SerializedString serialized = new SerializedString(new String(json, StandardCharsets.UTF_8));
+        // Encode once here so every later write copies the cached UTF-8 bytes
+        serialized.asUnquotedUTF8();
+
+        lock.lock();
+        try {
+            fragments.put(id, new Fragment(version, serialized));
+        } finally {
+            lock.unlock();
+        }
+        return serialized;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            fragments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return fragments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private record Fragment(LocalDateTime version, SerializedString json) {
+    }
+}
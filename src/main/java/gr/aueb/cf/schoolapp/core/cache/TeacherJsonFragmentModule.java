@@ -0,0 +1,93 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Jackson module that serves {@link TeacherReadOnlyDTO} from
+ * {@link TeacherJsonFragmentCache}. On a hit the cached UTF-8 bytes are copied
+ * straight into the output buffer; on a miss the regular bean serializer runs
+ * once into a side buffer and its output is cached. Spring Boot registers
+ * every {@code Module} bean with the application's {@code ObjectMapper}.
+ */
+@Component
+public class TeacherJsonFragmentModule extends SimpleModule {
+
+    private static final JsonFactory FALLBACK_FACTORY = new JsonFactory();
+
+    public TeacherJsonFragmentModule(TeacherJsonFragmentCache cache) {
+        super("TeacherJsonFragmentModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (cache.isEnabled() && beanDesc.getBeanClass() == TeacherReadOnlyDTO.class) {
+                    return new FragmentSerializer((JsonSerializer<TeacherReadOnlyDTO>) serializer, cache);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    static class FragmentSerializer extends StdSerializer<TeacherReadOnlyDTO> implements ResolvableSerializer {
+
+        private final JsonSerializer<TeacherReadOnlyDTO> delegate;
+        private final TeacherJsonFragmentCache cache;
+
+        FragmentSerializer(JsonSerializer<TeacherReadOnlyDTO> delegate, TeacherJsonFragmentCache cache) {
+            super(TeacherReadOnlyDTO.class);
+            this.delegate = delegate;
+            this.cache = cache;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public void serialize(TeacherReadOnlyDTO value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (value.getId() == null || value.getVersion() == null) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+
+            SerializableString fragment = cache.get(value.getId(), value.getVersion());
+            if (fragment == null) {
+                fragment = cache.put(value.getId(), value.getVersion(), render(value, gen, provider));
+            }
+            gen.writeRawValue(fragment);
+        }
+
+        private byte[] render(TeacherReadOnlyDTO value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            JsonFactory factory = gen.getCodec() != null ? gen.getCodec().getFactory() : FALLBACK_FACTORY;
+            try (ByteArrayBuilder buffer = new ByteArrayBuilder()) {
+                try (JsonGenerator fragmentGen = factory.createGenerator(buffer)) {
+                    fragmentGen.setCodec(gen.getCodec());
+                    delegate.serialize(value, fragmentGen, provider);
+                }
+                return buffer.toByteArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for teacher read queries, keyed by the normalized
+ * filter and page.
+ * <p>
+ * Every entry is stamped with the generation that was current before the
+ * query ran. Any write to a teacher, user or personal-info row bumps the
+ * generation (see {@link TeacherDataChangeListener}), so entries loaded
+ * before the write are rejected on their next read instead of being served.
+ */
+@Component
+public class TeacherQueryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeacherQueryCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleRejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TeacherQueryCache(@Value("${app.teachers.cache.enabled:true}") boolean enabled,
+                             @Value("${app.teachers.cache.max-entries:256}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > TeacherQueryCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, or runs the loader and caches its
+     * result. The generation is read before loading, so a write that happens
+     * while the loader runs makes the stored entry stale immediately.
+     */
+    public <T> T get(Key key, Supplier<T> loader) {
+        return get(key, generation -> loader.get());
+    }
+
+    /**
+     * Like {@link #get(Key, Supplier)}, but hands the loader the generation
+     * its result will be stamped with. A loader that shares its query with
+     * other callers ({@link SingleFlight}) has to key it by that generation
+     * too (see {@link Flight}); otherwise a caller arriving after a write
+     * would take, and cache as current, the result of a query that started
+     * before it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, LongFunction<T> loader) {
+        long currentGeneration = generation.get();
+        if (!enabled) return loader.apply(currentGeneration);
+
+        Entry entry;
+
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.generation != currentGeneration) {
+                entries.remove(key);
+                staleRejections.increment();
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry != null) {
+            hits.increment();
+            return (T) entry.value;
+        }
+
+        misses.increment();
+        T value = loader.apply(currentGeneration);
+
+        lock.lock();
+        try {
+            // A slow load must not replace what a caller that started after the next write already stored
+            entries.merge(key, new Entry(currentGeneration, value),
+                    (stored, loaded) -> stored.generation > loaded.generation ? stored : loaded);
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    /**
+     * Marks every cached entry as stale. Entries are dropped lazily on their
+     * next read, so invalidation is O(1) regardless of the cache size.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        LOGGER.debug("Teacher query cache invalidated, generation={}", generation.get());
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStaleRejections() {
+        return staleRejections.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public static Key keyOf(String query, TeacherFilters filters) {
+        return new Key(query,
+                normalize(filters.getUuid(), true),
+                normalize(filters.getUserAfm(), false),
+                normalize(filters.getUserAmka(), false),
+                filters.getIsActive(),
+                filters.getPage(),
+                filters.getPageSize(),
+                filters.getSortBy(),
+                filters.getSortDirection());
+    }
+
+    private static String normalize(String value, boolean upperCase) {
+        if (value == null || value.isBlank()) return null;
+        return upperCase ? value.trim().toUpperCase() : value;
+    }
+
+    public record Key(String query, String uuid, String userAfm, String userAmka, Boolean isActive,
+                      int page, int pageSize, String sortBy, Sort.Direction sortDirection) {
+    }
+
+    /**
+     * {@link SingleFlight} key of a query: callers only share a query that
+     * started at the generation they read themselves.
+     */
+    public record Flight(Key key, long generation) {
+    }
+
+    private record Entry(long generation, Object value) {
+    }
+}
@@ -0,0 +1,114 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.enums.GenderType;
+import gr.aueb.cf.schoolapp.core.enums.Role;
+import gr.aueb.cf.schoolapp.dto.TeacherStatisticsReadOnlyDTO;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Teacher counts by active status, gender, role and age band, built from the
+ * rows of one {@code GROUP BY} over all four. Immutable, so a single instance
+ * is shared by every reader until the next write or the next day, when ages
+ * may have moved to another band.
+ * <p>
+ * Every gender, role and band is listed, with zero if nobody falls in it, so
+ * the payload has the same shape whatever the data. {@code UNKNOWN} collects
+ * teachers whose user or value is missing.
+ */
+public final class TeacherStatisticsSnapshot {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private final LocalDate date;
+    private final TeacherStatisticsReadOnlyDTO statistics;
+    private final String version;
+
+    public TeacherStatisticsSnapshot(LocalDate date, LocalDateTime computedAt, List<Group> groups) {
+        Map<String, Long> byGender = keys(GenderType.values());
+        Map<String, Long> byRole = keys(Role.values());
+        Map<String, Long> byAgeBand = keys(AgeBand.values());
+        long total = 0;
+        long active = 0;
+
+        for (Group group : groups) {
+            total += group.count();
+            if (Boolean.TRUE.equals(group.active())) active += group.count();
+            byGender.merge(group.gender() == null ? UNKNOWN : group.gender(), group.count(), Long::sum);
+            byRole.merge(group.role() == null ? UNKNOWN : group.role(), group.count(), Long::sum);
+            byAgeBand.merge(group.ageBand() == null ? UNKNOWN : group.ageBand().name(), group.count(), Long::sum);
+        }
+
+        this.date = date;
+        this.statistics = new TeacherStatisticsReadOnlyDTO(total, active, total - active,
+                Collections.unmodifiableMap(byGender), Collections.unmodifiableMap(byRole),
+                Collections.unmodifiableMap(byAgeBand), computedAt);
+        String content = total + "|" + active + "|" + byGender + "|" + byRole + "|" + byAgeBand;
+        this.version = DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The day the age bands were computed for.
+     */
+    public LocalDate date() {
+        return date;
+    }
+
+    public TeacherStatisticsReadOnlyDTO statistics() {
+        return statistics;
+    }
+
+    /**
+     * Hash of the counts only, so a recount that finds the same numbers keeps
+     * the same version.
+     */
+    public String version() {
+        return version;
+    }
+
+    private static Map<String, Long> keys(Enum<?>[] values) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> value : values) counts.put(value.name(), 0L);
+        counts.put(UNKNOWN, 0L);
+        return counts;
+    }
+
+    /**
+     * Age bands in whole years on the snapshot's date, youngest first.
+     */
+    public enum AgeBand {
+        UNDER_30(30),
+        FROM_30_TO_39(40),
+        FROM_40_TO_49(50),
+        FROM_50_TO_59(60),
+        FROM_60(Integer.MAX_VALUE);
+
+        private final int upperExclusive;
+
+        AgeBand(int upperExclusive) {
+            this.upperExclusive = upperExclusive;
+        }
+
+        /**
+         * The latest birth date that is too old for this band on the given
+         * day, or {@code null} for the last band.
+         */
+        public LocalDate bornOnOrBefore(LocalDate date) {
+            return upperExclusive == Integer.MAX_VALUE ? null : date.minusYears(upperExclusive);
+        }
+    }
+
+    /**
+     * One row of the {@code GROUP BY}. A {@code null} age band means the
+     * birth date is unknown.
+     */
+    public record Group(Boolean active, String gender, String role, AgeBand ageBand, long count) {
+    }
+}
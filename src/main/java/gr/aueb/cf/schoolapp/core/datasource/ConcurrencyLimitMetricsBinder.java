@@ -0,0 +1,69 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitMetricsBinder implements MeterBinder {
+
+    private final DataSource dataSource;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        List<ConcurrencyLimitedDataSource> limiters = new ArrayList<>();
+        collect(dataSource, limiters);
+
+        for (ConcurrencyLimitedDataSource limited : limiters) {
+            String pool = poolName(limited);
+            Gauge.builder("datasource.concurrency.limit", limited, ConcurrencyLimitedDataSource::getMaxPermits)
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("datasource.concurrency.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("datasource.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getQueueLength)
+                    .tag("pool", pool)
+                    .register(registry);
+            FunctionCounter.builder("datasource.concurrency.rejections", limited, ConcurrencyLimitedDataSource::getRejections)
+                    .tag("pool", pool)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Finds the limiters behind any proxies, one per pool when the
+     * connections are routed.
+     */
+    static void collect(DataSource dataSource, List<ConcurrencyLimitedDataSource> limiters) {
+        if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+            limiters.add(limited);
+        } else if (dataSource instanceof ReplicaRoutingDataSource routing) {
+            routing.getTargets().forEach(target -> collect(target, limiters));
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collect(target, limiters));
+        } else if (dataSource instanceof DelegatingDataSource delegating) {
+            collect(delegating.getTargetDataSource(), limiters);
+        }
+    }
+
+    // Same tag value as the Hikari meters of the pool
+    private static String poolName(ConcurrencyLimitedDataSource limited) {
+        return limited.getTargetDataSource() instanceof HikariDataSource hikari && hikari.getPoolName() != null
+                ? hikari.getPoolName()
+                : "default";
+    }
+}
@@ -0,0 +1,62 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ConcurrencyLimitedDataSource} directly in front of the pool,
+ * behind any lazy connection proxy and before the request instrumentation,
+ * so the time spent waiting for a permit counts as connection wait.
+ * <p>
+ * With replica routing or workload pools there is more than one pool, and
+ * a single semaphore in front of all of them would let one workload queue
+ * behind another. {@link DataSourceRoutingConfiguration} then gives every
+ * pool a limiter of its own, sized to the pool, and this leaves the routing
+ * data source alone; {@code permits} only applies to the single pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final int permits;
+    private final long maxWaitMillis;
+
+    public ConcurrencyLimitedDataSourcePostProcessor(@Value("${app.datasource.concurrency-limit.permits:10}") int permits,
+                                                     @Value("${app.datasource.concurrency-limit.max-wait-ms:5000}") long maxWaitMillis) {
+        this.permits = permits;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof LazyConnectionDataSourceProxy lazy && lazy.getTargetDataSource() != null) {
+            DataSource target = lazy.getTargetDataSource();
+            // Routing data sources already have a limiter per pool (DataSourceRoutingConfiguration)
+            if (!(target instanceof ConcurrencyLimitedDataSource) && !isRouting(target)) {
+                lazy.setTargetDataSource(new ConcurrencyLimitedDataSource(target, permits, maxWaitMillis));
+            }
+            return bean;
+        }
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+            return new ConcurrencyLimitedDataSource(dataSource, permits, maxWaitMillis);
+        }
+        return bean;
+    }
+
+    private static boolean isRouting(DataSource dataSource) {
+        return dataSource instanceof ReplicaRoutingDataSource || dataSource instanceof AbstractRoutingDataSource;
+    }
+
+    // Applied before the unordered instrumentation post-processor, i.e. closer to the pool
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
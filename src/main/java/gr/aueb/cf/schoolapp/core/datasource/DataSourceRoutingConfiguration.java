@@ -0,0 +1,132 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool when replica routing
+ * ({@code app.datasource.routing.enabled}) or workload pools
+ * ({@code app.datasource.workload-pools.enabled}) are switched on.
+ * <p>
+ * The primary is configured through the usual {@code spring.datasource.*}
+ * properties. With workload pools it is split into an {@code auth}, a
+ * {@code read} and a {@code write} pool, each with its own size and
+ * connection timeout. Replicas are configured through
+ * {@code app.datasource.routing.replicas[n].*}.
+ * <p>
+ * Only the outer lazy proxy is a bean, so the request instrumentation and the
+ * Hikari metrics see each connection once. Every pool registers its own
+ * Hikari meters, tagged {@code pool=primary}, {@code pool=auth|read|write} or
+ * {@code pool=replica-n}.
+ * <p>
+ * With {@code app.datasource.concurrency-limit.enabled} each pool gets its
+ * own {@link ConcurrencyLimitedDataSource}, with as many permits as the pool
+ * has connections, so a burst on one pool never queues work for another.
+ * <p>
+ * Either way Hibernate returns the connection at the end of each transaction
+ * instead of holding it for the whole open-in-view request. Otherwise the
+ * pool picked for a request's first transaction would serve the rest of it:
+ * a read-write transaction after a read-only one would run on the replica,
+ * and a login would keep its {@code auth} connection through the BCrypt
+ * check.
+ */
+@Configuration
+@ConditionalOnExpression("${app.datasource.routing.enabled:false} or ${app.datasource.workload-pools.enabled:false}")
+@EnableConfigurationProperties({RoutingProperties.class, WorkloadPoolProperties.class})
+public class DataSourceRoutingConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, RoutingProperties routingProperties,
+                                WorkloadPoolProperties workloadPoolProperties, Environment environment,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+
+        DataSource primary;
+        if (workloadPoolProperties.isEnabled()) {
+            Map<WorkloadType, DataSource> workloadPools = new EnumMap<>(WorkloadType.class);
+            for (WorkloadType workload : WorkloadType.values()) {
+                WorkloadPoolProperties.Pool properties = workloadPoolProperties.get(workload);
+                HikariDataSource pool = primaryPool(dataSourceProperties, environment, meterRegistry,
+                        workload.name().toLowerCase());
+                pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+                pool.setConnectionTimeout(properties.getConnectionTimeoutMs());
+                workloadPools.put(workload, limited(pool, environment));
+            }
+            primary = new WorkloadRoutingDataSource(workloadPools);
+        } else {
+            primary = limited(primaryPool(dataSourceProperties, environment, meterRegistry, "primary"), environment);
+        }
+
+        if (!routingProperties.isEnabled()) {
+            return new LazyConnectionDataSourceProxy(primary);
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingProperties.Replica properties : routingProperties.getReplicas()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(properties.getUrl());
+            replica.setUsername(properties.getUsername());
+            replica.setPassword(properties.getPassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(limited(replica, environment));
+            pools.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                routingProperties.getStrategy(), new ReadYourWritesTracker(routingProperties.getReadYourWritesMs()));
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static DataSource limited(HikariDataSource pool, Environment environment) {
+        if (!environment.getProperty("app.datasource.concurrency-limit.enabled", Boolean.class, false)) return pool;
+        return new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(),
+                environment.getProperty("app.datasource.concurrency-limit.max-wait-ms", Long.class, 5000L));
+    }
+
+    private HikariDataSource primaryPool(DataSourceProperties dataSourceProperties, Environment environment,
+                                         ObjectProvider<MeterRegistry> meterRegistry, String name) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,49 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * A non-blocking R2DBC pool for the reactive read API, next to the JDBC pool
+ * used by JPA.
+ * <p>
+ * Only the {@link DatabaseClient} is a bean. A {@code ConnectionFactory} bean
+ * would make Boot back off from the JDBC {@code DataSource}, which is also why
+ * the R2DBC auto-configuration is excluded on the application class.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveDatabaseProperties.class)
+public class ReactiveDatabaseConfiguration implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveDatabaseProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .maxAcquireTime(Duration.ofMillis(properties.getMaxAcquireMs()))
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) pool.dispose();
+    }
+}
@@ -0,0 +1,20 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.datasource.reactive")
+@Getter
+@Setter
+public class ReactiveDatabaseProperties {
+
+    /** An R2DBC URL, e.g. {@code r2dbc:mysql://localhost:3306/db}. */
+    private String url;
+    private String username;
+    private String password;
+    private int initialSize = 2;
+    private int maxSize = 10;
+    /** How long a subscriber may wait for a pooled connection before failing. */
+    private long maxAcquireMs = 5000;
+}
@@ -0,0 +1,77 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which clients committed a write recently, so that their reads
+ * stay on the primary until the replicas have had time to catch up.
+ * <p>
+ * A write pins both the authenticated username and the remote address,
+ * since the JWT filter looks the user up before the request is authenticated.
+ * Reads outside a request have neither and are never pinned.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void recordWrite() {
+        if (windowNanos <= 0) return;
+        long now = System.nanoTime();
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now < 0);
+        }
+
+        String username = currentUsername();
+        if (username != null) pinnedUntil.put(username, now + windowNanos);
+        String address = currentAddress();
+        if (address != null) pinnedUntil.put(address, now + windowNanos);
+    }
+
+    public boolean isPinnedToPrimary() {
+        if (pinnedUntil.isEmpty()) return false;
+        return isPinned(currentUsername()) || isPinned(currentAddress());
+    }
+
+    private boolean isPinned(String client) {
+        if (client == null) return false;
+        Long until = pinnedUntil.get(client);
+        if (until == null) return false;
+        if (until - System.nanoTime() > 0) return true;
+
+        pinnedUntil.remove(client, until);
+        return false;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private static String currentAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return "addr:" + request.getRemoteAddr();
+        }
+        return null;
+    }
+}
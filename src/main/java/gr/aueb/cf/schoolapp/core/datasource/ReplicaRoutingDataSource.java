@@ -0,0 +1,120 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything
+ * else to the primary. Read-write transactions record a write when they
+ * commit, and the {@link ReadYourWritesTracker} then keeps that client's reads
+ * on the primary for a while.
+ * <p>
+ * The transaction's read-only flag is only set once the transaction has
+ * begun, so this must sit behind a {@code LazyConnectionDataSourceProxy}
+ * that defers the real connection until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public enum Strategy { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    private static final Object WRITE_SYNCHRONIZATION_KEY = new Object();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Strategy strategy;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Strategy strategy,
+                                    ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    /**
+     * The primary followed by the replicas.
+     */
+    List<DataSource> getTargets() {
+        List<DataSource> targets = new ArrayList<>();
+        targets.add(primary);
+        targets.addAll(replicas);
+        return targets;
+    }
+
+    DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return primary;
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return primary;
+        }
+        if (replicas.isEmpty() || readYourWrites.isPinnedToPrimary()) return primary;
+        return selectReplica();
+    }
+
+    private DataSource selectReplica() {
+        if (replicas.size() == 1) return replicas.get(0);
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (strategy == Strategy.ROUND_ROBIN) return replicas.get(start);
+
+        // Least active connections, starting the scan at the round-robin position to spread ties
+        DataSource best = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSource candidate = replicas.get((start + i) % replicas.size());
+            int active = activeConnections(candidate);
+            if (active < fewest) {
+                best = candidate;
+                fewest = active;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof ConcurrencyLimitedDataSource limited) dataSource = limited.getTargetDataSource();
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) return pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_SYNCHRONIZATION_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_SYNCHRONIZATION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_SYNCHRONIZATION_KEY);
+                if (status == STATUS_COMMITTED) readYourWrites.recordWrite();
+            }
+        });
+    }
+}
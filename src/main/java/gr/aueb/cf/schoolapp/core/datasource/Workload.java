@@ -0,0 +1,19 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the connections used inside the annotated method (or every method of
+ * the annotated class) to the pool of the given workload. Without it,
+ * read-only transactions use the {@code READ} pool and read-write
+ * transactions the {@code WRITE} pool.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    WorkloadType value();
+}
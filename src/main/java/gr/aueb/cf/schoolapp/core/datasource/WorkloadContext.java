@@ -0,0 +1,43 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the workload declared with {@link Workload} for the current thread.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    static WorkloadType set(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(WorkloadType previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * The declared workload, otherwise {@code WRITE} inside a read-write
+     * transaction and {@code READ} for read-only transactions and for work
+     * outside a transaction (lazy loading after the transaction has ended).
+     */
+    public static WorkloadType current() {
+        WorkloadType declared = CURRENT.get();
+        if (declared != null) return declared;
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return WorkloadType.WRITE;
+        }
+        return WorkloadType.READ;
+    }
+}
@@ -0,0 +1,35 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.datasource.workload-pools")
+@Getter
+@Setter
+public class WorkloadPoolProperties {
+
+    private boolean enabled;
+    private Pool auth = new Pool(4, 1000);
+    private Pool read = new Pool(10, 3000);
+    private Pool write = new Pool(6, 5000);
+
+    public Pool get(WorkloadType workload) {
+        return switch (workload) {
+            case AUTH -> auth;
+            case READ -> read;
+            case WRITE -> write;
+        };
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int maximumPoolSize;
+        private long connectionTimeoutMs;
+    }
+}
@@ -0,0 +1,28 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives each {@link WorkloadType} its own pool, so that a burst of slow
+ * writes or large listings exhausts only its own connections. Like the
+ * replica routing, it relies on a {@code LazyConnectionDataSourceProxy} in
+ * front so the transaction is known when the connection is picked.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(Map<WorkloadType, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(WorkloadType.READ));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
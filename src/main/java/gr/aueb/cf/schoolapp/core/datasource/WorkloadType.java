@@ -0,0 +1,10 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+/**
+ * The classes of database work that get a connection pool of their own.
+ */
+public enum WorkloadType {
+    AUTH,
+    READ,
+    WRITE
+}
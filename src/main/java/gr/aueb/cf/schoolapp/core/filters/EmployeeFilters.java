@@ -0,0 +1,55 @@
+package gr.aueb.cf.schoolapp.core.filters;
+
+import lombok.*;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class EmployeeFilters extends GenericFilters {
+
+    public static final SortRegistry SORT_REGISTRY = SortRegistry.of("id", Map.of(
+            "id", "id",
+            "uuid", "uuid",
+            "user.lastname", "user.lastname",
+            "user.firstname", "user.firstname"));
+
+    @Nullable
+    private String uuid;
+
+    @Nullable
+    private String userAfm;
+
+    @Nullable
+    private String userLastname;
+
+    @Nullable
+    private Boolean isActive;
+
+    @Nullable
+    private Long educationalUnitId;
+
+    @Nullable
+    private Long regionId;
+
+    @Override
+    protected SortRegistry sortRegistry() {
+        return SORT_REGISTRY;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeFilters{" +
+                "uuid='" + uuid + '\'' +
+                ", userAfm='" + userAfm + '\'' +
+                ", userLastname='" + userLastname + '\'' +
+                ", isActive=" + isActive +
+                ", educationalUnitId=" + educationalUnitId +
+                ", regionId=" + regionId +
+                '}';
+    }
+}
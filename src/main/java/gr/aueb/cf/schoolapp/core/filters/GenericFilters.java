@@ -7,6 +7,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,6 +16,8 @@ public abstract class GenericFilters {
     private static final int DEFAULT_PAGE_SIZE = 10;
     private static final String DEFAULT_SORT_COLUMN = "id";
     private static final Sort.Direction DEFALUT_SORT_DIRECTION = Sort.Direction.ASC;
+    private static final SortRegistry DEFAULT_SORT_REGISTRY = SortRegistry.of(DEFAULT_SORT_COLUMN,
+            Map.of(DEFAULT_SORT_COLUMN, DEFAULT_SORT_COLUMN));
 
 
     private int page;
@@ -26,7 +30,7 @@ public abstract class GenericFilters {
     }
 
     public int getPageSize() {
-        return pageSize < 0 ? DEFAULT_PAGE_SIZE : pageSize;
+        return pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize;
     }
 
     public Sort.Direction getSortDirection() {
@@ -37,13 +41,20 @@ public abstract class GenericFilters {
         }
     }
 
+    /**
+     * The fields this listing may be sorted by. Subclasses override it to
+     * register their own index-backed fields.
+     */
+    protected SortRegistry sortRegistry() {
+        return DEFAULT_SORT_REGISTRY;
+    }
+
     public String getSortBy() {
-        if (sortBy == null || sortBy.isBlank()) return DEFAULT_SORT_COLUMN;
-        return sortBy;
+        return sortRegistry().resolve(sortBy);
     }
 
     public Sort getSort() {
-        return Sort.by(getSortDirection(), getSortBy());
+        return sortRegistry().toSort(getSortBy(), getSortDirection());
     }
 
     public Pageable getPageable() {
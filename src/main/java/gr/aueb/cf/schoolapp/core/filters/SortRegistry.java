@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolapp.core.filters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declares which fields a listing may be sorted by and the entity path each
+ * one maps to. Every registered path is backed by an index ending in the id
+ * of the entity that owns the column, and that id is always appended as a
+ * tiebreaker, so paging is stable and the database can read rows in index
+ * order and stop at the LIMIT instead of sorting.
+ */
+public final class SortRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortRegistry.class);
+
+    private final String defaultField;
+    private final Map<String, String> paths;
+
+    private SortRegistry(String defaultField, Map<String, String> paths) {
+        this.defaultField = defaultField;
+        this.paths = Collections.unmodifiableMap(paths);
+    }
+
+    public static SortRegistry of(String defaultField, Map<String, String> paths) {
+        if (!paths.containsKey(defaultField)) {
+            throw new IllegalArgumentException("Default sort field " + defaultField + " is not registered");
+        }
+        return new SortRegistry(defaultField, new LinkedHashMap<>(paths));
+    }
+
+    public String getDefaultField() {
+        return defaultField;
+    }
+
+    public Set<String> getFields() {
+        return paths.keySet();
+    }
+
+    public boolean supports(String field) {
+        return field != null && paths.containsKey(field);
+    }
+
+    /**
+     * Returns the field itself when registered, otherwise the default field.
+     * Unsupported fields are downgraded rather than passed on to the query.
+     */
+    public String resolve(String field) {
+        if (field == null || field.isBlank()) return defaultField;
+        if (supports(field)) return field;
+
+        LOGGER.debug("Unsupported sort field '{}', falling back to '{}'", field, defaultField);
+        return defaultField;
+    }
+
+    public Sort toSort(String field, Sort.Direction direction) {
+        String path = paths.get(resolve(field));
+        String tiebreaker = tiebreakerFor(path);
+
+        Sort sort = Sort.by(direction, path);
+        return path.equals(tiebreaker) ? sort : sort.and(Sort.by(direction, tiebreaker));
+    }
+
+    private static String tiebreakerFor(String path) {
+        int lastDot = path.lastIndexOf('.');
+        return lastDot < 0 ? "id" : path.substring(0, lastDot) + ".id";
+    }
+}
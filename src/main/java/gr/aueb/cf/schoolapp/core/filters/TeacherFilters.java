@@ -3,6 +3,8 @@ package gr.aueb.cf.schoolapp.core.filters;
 import lombok.*;
 import org.springframework.lang.Nullable;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -10,6 +12,14 @@ import org.springframework.lang.Nullable;
 @AllArgsConstructor
 public class TeacherFilters extends GenericFilters {
 
+    public static final SortRegistry SORT_REGISTRY = SortRegistry.of("id", Map.of(
+            "id", "id",
+            "uuid", "uuid",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt",
+            "user.lastname", "user.lastname",
+            "user.firstname", "user.firstname"));
+
     @Nullable
     private String uuid;
 
@@ -22,6 +32,11 @@ public class TeacherFilters extends GenericFilters {
     @Nullable
     private Boolean isActive;
 
+    @Override
+    protected SortRegistry sortRegistry() {
+        return SORT_REGISTRY;
+    }
+
     @Override
     public String toString() {
         return "TeacherFilters{" +
@@ -0,0 +1,99 @@
+package gr.aueb.cf.schoolapp.core.instrumentation;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so that connection acquisition and statement execution are
+ * timed into the current {@link RequestMetrics}. Connections handed out
+ * outside a request are returned unwrapped.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public InstrumentedDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) return super.getConnection();
+
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        metrics.connectionAcquired(System.nanoTime() - start);
+        return wrap(connection, metrics);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) return super.getConnection(username, password);
+
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        metrics.connectionAcquired(System.nanoTime() - start);
+        return wrap(connection, metrics);
+    }
+
+    private static Connection wrap(Connection connection, RequestMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection, metrics));
+    }
+
+    private record ConnectionHandler(Connection target, RequestMetrics metrics) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) return identity(proxy, method, args);
+
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()}, new StatementHandler(statement, metrics));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, RequestMetrics metrics) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) return identity(proxy, method, args);
+            if (!method.getName().startsWith("execute")) return invokeTarget(target, method, args);
+
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                metrics.statementExecuted(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class
+                && (method.getName().equals("equals") || method.getName().equals("hashCode"));
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package gr.aueb.cf.schoolapp.core.instrumentation;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@ConditionalOnProperty(name = "app.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // Instrument behind a lazy proxy, where the physical connection is actually acquired
+        if (bean instanceof LazyConnectionDataSourceProxy lazy && lazy.getTargetDataSource() != null
+                && !(lazy.getTargetDataSource() instanceof InstrumentedDataSource)) {
+            lazy.setTargetDataSource(new InstrumentedDataSource(lazy.getTargetDataSource()));
+            return bean;
+        }
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource);
+        }
+        return bean;
+    }
+}
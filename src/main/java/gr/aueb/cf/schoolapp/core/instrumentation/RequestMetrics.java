@@ -0,0 +1,83 @@
+package gr.aueb.cf.schoolapp.core.instrumentation;
+
+import java.util.Locale;
+
+/**
+ * Database work done while serving one request: statements executed, time
+ * spent in JDBC, time spent waiting for pooled connections and entities
+ * loaded by Hibernate. Bound to the request thread by {@link RequestMetricsFilter};
+ * outside a request {@link #current()} is {@code null} and nothing is recorded.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long jdbcNanos;
+    private int connections;
+    private long connectionWaitNanos;
+    private int entityLoads;
+
+    public static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void connectionAcquired(long nanos) {
+        connections++;
+        connectionWaitNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    public double getConnectionWaitMillis() {
+        return connectionWaitNanos / 1_000_000.0;
+    }
+
+    public double getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Formats the metrics as a {@code Server-Timing} header value, readable in
+     * the browser's network panel.
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT,
+                "db;dur=%.2f;desc=\"%d statements\", conn;dur=%.2f;desc=\"%d acquired\", entities;desc=\"%d loaded\", app;dur=%.2f",
+                getJdbcMillis(), statements, getConnectionWaitMillis(), connections, entityLoads, getElapsedMillis());
+    }
+}
@@ -0,0 +1,125 @@
+package gr.aueb.cf.schoolapp.core.instrumentation;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Binds a {@link RequestMetrics} to every request, reports it in a
+ * {@code Server-Timing} header and logs requests that cross the slow-request
+ * thresholds. Runs ahead of the security chain so the JWT user lookup is
+ * counted too.
+ * <p>
+ * The header is added just before the body is first written (or after the
+ * chain, for bodiless responses), since headers cannot change once the
+ * response is committed. Lazy loads during serialization therefore show up
+ * in the slow-request log but not in the header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean serverTimingEnabled;
+    private final long slowRequestMillis;
+    private final int slowRequestStatements;
+
+    public RequestMetricsFilter(@Value("${app.instrumentation.server-timing:true}") boolean serverTimingEnabled,
+                                @Value("${app.instrumentation.slow-request-ms:500}") long slowRequestMillis,
+                                @Value("${app.instrumentation.slow-request-statements:25}") int slowRequestStatements) {
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.slowRequestMillis = slowRequestMillis;
+        this.slowRequestStatements = slowRequestStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestMetrics metrics = RequestMetrics.start();
+        ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, metrics);
+        try {
+            filterChain.doFilter(request, serverTimingEnabled ? wrapper : response);
+        } finally {
+            if (serverTimingEnabled) wrapper.addServerTiming();
+            RequestMetrics.clear();
+            logIfSlow(request, response, metrics);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestMetrics metrics) {
+        double elapsed = metrics.getElapsedMillis();
+        if (elapsed < slowRequestMillis && metrics.getStatements() < slowRequestStatements) return;
+
+        LOGGER.warn("Slow request {} {} -> {} in {} ms: statements={}, jdbc={} ms, connections={}, connectionWait={} ms, entities={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), String.format("%.1f", elapsed),
+                metrics.getStatements(), String.format("%.1f", metrics.getJdbcMillis()), metrics.getConnections(),
+                String.format("%.1f", metrics.getConnectionWaitMillis()), metrics.getEntityLoads());
+    }
+
+    private static final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestMetrics metrics;
+        private boolean added;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestMetrics metrics) {
+            super(response);
+            this.metrics = metrics;
+        }
+
+        void addServerTiming() {
+            if (added) return;
+            added = true;
+            if (!isCommitted()) {
+                addHeader(SERVER_TIMING, metrics.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+    }
+}
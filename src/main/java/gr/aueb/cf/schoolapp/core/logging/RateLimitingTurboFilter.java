@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolapp.core.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permitsPerSecond} events below {@code WARN} through per
+ * one-second window for loggers whose name starts with {@code prefix}, e.g.
+ * {@code org.hibernate.SQL}. The window is a single packed {@code long}
+ * (window start, events seen) updated with CAS, so the check never locks.
+ * How many events were dropped is logged once the next window opens.
+ */
+@Setter
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(RateLimitingTurboFilter.class);
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private String prefix;
+    private int permitsPerSecond = 50;
+
+    /** Upper bits: window start in seconds; lower {@value #COUNT_BITS} bits: events seen in the window. */
+    private final AtomicLong window = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)) return FilterReply.NEUTRAL;
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) return FilterReply.NEUTRAL;
+        if (!logger.getName().startsWith(prefix)) return FilterReply.NEUTRAL;
+
+        long second = System.nanoTime() / 1_000_000_000L;
+        while (true) {
+            long current = window.get();
+            long currentSecond = current >>> COUNT_BITS;
+            long seen = current & COUNT_MASK;
+
+            if (currentSecond != second) {
+                if (window.compareAndSet(current, (second << COUNT_BITS) | 1)) {
+                    if (seen > permitsPerSecond) {
+                        LOGGER.info("Dropped {} events from {} over the {} per second limit",
+                                seen - permitsPerSecond, prefix, permitsPerSecond);
+                    }
+                    return FilterReply.NEUTRAL;
+                }
+                continue;
+            }
+            if (seen == COUNT_MASK) return FilterReply.DENY;
+            if (window.compareAndSet(current, current + 1)) {
+                return seen < permitsPerSecond ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (prefix == null || prefix.isBlank()) {
+            addError("No prefix set for rate limiting filter " + getName());
+            return;
+        }
+        if (permitsPerSecond < 1) {
+            addError("permitsPerSecond must be at least 1, was " + permitsPerSecond);
+            return;
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,56 @@
+package gr.aueb.cf.schoolapp.core.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code rate} events up to {@code maxLevel} (INFO by
+ * default) from loggers whose name starts with {@code prefix}; the rest are
+ * denied before a logging event is even created. ERROR always passes.
+ * <pre>
+ * &lt;turboFilter class="gr.aueb.cf.schoolapp.core.logging.SamplingTurboFilter"&gt;
+ *     &lt;prefix&gt;org.springframework.security&lt;/prefix&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ *     &lt;maxLevel&gt;WARN&lt;/maxLevel&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+@Setter
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String prefix;
+    private int rate = 100;
+    private Level maxLevel = Level.INFO;
+
+    private final AtomicLong seen = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.ERROR)
+                || !maxLevel.isGreaterOrEqual(level)) return FilterReply.NEUTRAL;
+        // Disabled levels are rejected by the logger itself; do not let them consume the sample.
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) return FilterReply.NEUTRAL;
+        if (!logger.getName().startsWith(prefix)) return FilterReply.NEUTRAL;
+
+        return seen.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (prefix == null || prefix.isBlank()) {
+            addError("No prefix set for sampling filter " + getName());
+            return;
+        }
+        if (rate < 1) {
+            addError("Sampling rate must be at least 1, was " + rate);
+            return;
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,55 @@
+package gr.aueb.cf.schoolapp.core.metrics;
+
+import gr.aueb.cf.schoolapp.core.cache.SingleFlight;
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters the teacher caches already keep. Meters read them
+ * only when scraped, so the read path pays nothing extra.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final TeacherQueryCache teacherQueryCache;
+    private final SingleFlight singleFlight;
+    private final TeacherJsonFragmentCache teacherJsonFragmentCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String queryCache = "teachers.query.cache";
+        counter(registry, queryCache + ".requests", teacherQueryCache, TeacherQueryCache::getHits, "result", "hit");
+        counter(registry, queryCache + ".requests", teacherQueryCache, TeacherQueryCache::getMisses, "result", "miss");
+        counter(registry, queryCache + ".stale", teacherQueryCache, TeacherQueryCache::getStaleRejections);
+        counter(registry, queryCache + ".evictions", teacherQueryCache, TeacherQueryCache::getEvictions);
+        counter(registry, queryCache + ".invalidations", teacherQueryCache, TeacherQueryCache::getInvalidations);
+        Gauge.builder(queryCache + ".size", teacherQueryCache, TeacherQueryCache::size).register(registry);
+
+        String coalescing = "teachers.query.coalescing";
+        counter(registry, coalescing + ".executions", singleFlight, SingleFlight::getExecutions);
+        counter(registry, coalescing + ".merged", singleFlight, SingleFlight::getMerged);
+        counter(registry, coalescing + ".timeouts", singleFlight, SingleFlight::getTimeouts);
+        counter(registry, coalescing + ".failures", singleFlight, SingleFlight::getFailures);
+        Gauge.builder(coalescing + ".in.flight", singleFlight, SingleFlight::getInFlight).register(registry);
+
+        String jsonCache = "teachers.json.cache";
+        counter(registry, jsonCache + ".requests", teacherJsonFragmentCache, TeacherJsonFragmentCache::getHits, "result", "hit");
+        counter(registry, jsonCache + ".requests", teacherJsonFragmentCache, TeacherJsonFragmentCache::getMisses, "result", "miss");
+        counter(registry, jsonCache + ".evictions", teacherJsonFragmentCache, TeacherJsonFragmentCache::getEvictions);
+        Gauge.builder(jsonCache + ".size", teacherJsonFragmentCache, TeacherJsonFragmentCache::size).register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source,
+                                     ToDoubleFunction<T> value, String... tags) {
+        FunctionCounter.builder(name, source, value).tags(tags).register(registry);
+    }
+}
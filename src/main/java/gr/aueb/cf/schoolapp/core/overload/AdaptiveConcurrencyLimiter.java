@@ -0,0 +1,151 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that follows the measured latency, in the style of the
+ * gradient limiters used for TCP congestion control.
+ * <p>
+ * Completed requests are collected into windows. At the end of each window
+ * the average latency is compared with a long-term average. While they stay
+ * within {@code tolerance} of each other the limit grows by about its square
+ * root, so it probes for more capacity. When recent requests get slower, the
+ * limit shrinks in proportion, down to half per window. A window that contains
+ * a dropped request (the database was unavailable) shrinks the limit by
+ * {@code backoffRatio} whatever the latency. The limit only grows while it is
+ * actually used, so an idle service does not end up with an unbounded limit.
+ * <p>
+ * Requests over the limit are rejected immediately rather than queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double longRttFactor;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private volatile double limit;
+
+    private final ReentrantLock windowLock = new ReentrantLock();
+    // Guarded by windowLock
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(LoadSheddingProperties properties, LongSupplier nanoClock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs());
+        this.minWindowSamples = properties.getMinWindowSamples();
+        this.longRttFactor = 2.0 / (properties.getLongWindows() + 1);
+        this.nanoClock = nanoClock;
+        this.limit = clamp(properties.getInitialLimit());
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} requests are in flight.
+     * Every successful call must be followed by one {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        windowLock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+            windowDropped |= dropped;
+
+            long now = nanoClock.getAsLong();
+            if (now - windowStart >= windowNanos && windowSamples >= minWindowSamples) {
+                adjust();
+                windowStart = now;
+                windowRttSum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+                windowDropped = false;
+            }
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void adjust() {
+        double current = limit;
+        double next;
+        if (windowDropped) {
+            next = current * backoffRatio;
+        } else {
+            double shortRtt = (double) windowRttSum / windowSamples;
+            longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * longRttFactor;
+            // After an overload the long-term average lags behind; let it come back down quickly
+            if (longRtt > 2 * shortRtt) longRtt *= 0.95;
+
+            if (windowMaxInFlight < current / 2) return;
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double estimate = current * gradient + Math.sqrt(current);
+            next = current * (1 - smoothing) + estimate * smoothing;
+        }
+
+        limit = clamp(next);
+        if ((int) limit != (int) current) {
+            LOGGER.debug("Concurrency limit {} -> {} (dropped={}, samples={})", (int) current, (int) limit,
+                    windowDropped, windowSamples);
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
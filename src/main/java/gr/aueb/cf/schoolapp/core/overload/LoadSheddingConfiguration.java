@@ -0,0 +1,27 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadSheddingConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(LoadSheddingProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Bean
+    public LoadSheddingFilter loadSheddingFilter(AdaptiveConcurrencyLimiter limiter, LoadSheddingProperties properties) {
+        return new LoadSheddingFilter(limiter, properties);
+    }
+
+    @Bean
+    public LoadSheddingMetricsBinder loadSheddingMetricsBinder(AdaptiveConcurrencyLimiter limiter) {
+        return new LoadSheddingMetricsBinder(limiter);
+    }
+}
@@ -0,0 +1,131 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts the {@link AdaptiveConcurrencyLimiter} in front of the limited paths
+ * and answers {@code 503} with {@code Retry-After} when it is full.
+ * <p>
+ * It runs after the request instrumentation but before the security chain, so
+ * a rejected request costs no JWT parsing and no database lookup. Priority
+ * paths (login and health) are never counted or rejected; shedding the
+ * teacher traffic early keeps request threads and connections free for them.
+ * Each request reports its latency to the limiter, and a {@code 503} from
+ * further down (no database connection) counts as a drop.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter implements Ordered {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> limitedPaths;
+    private final List<String> priorityPaths;
+    private final String retryAfter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, LoadSheddingProperties properties) {
+        this.limiter = limiter;
+        this.limitedPaths = List.copyOf(properties.getLimitedPaths());
+        this.priorityPaths = List.copyOf(properties.getPriorityPaths());
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after RequestMetricsFilter, well ahead of Spring Security
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return matchesAny(priorityPaths, path) || !matchesAny(limitedPaths, path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"code\": \"ServiceOverloaded\", \"description\": \"Too many requests in progress, retry later\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Reactive endpoints complete later, on an async dispatch
+                request.getAsyncContext().addListener(new ReleasingListener(start, response));
+            } else {
+                limiter.release(System.nanoTime() - start, failed || isDropped(response));
+            }
+        }
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isDropped(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private final class ReleasingListener implements AsyncListener {
+
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingListener(long start, HttpServletResponse response) {
+            this.start = start;
+            this.response = response;
+        }
+
+        private void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) limiter.release(System.nanoTime() - start, dropped);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(isDropped(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same request, keep listening
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
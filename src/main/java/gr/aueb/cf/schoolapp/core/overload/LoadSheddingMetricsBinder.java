@@ -0,0 +1,23 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class LoadSheddingMetricsBinder implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(registry);
+        Gauge.builder("http.server.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(registry);
+        FunctionCounter.builder("http.server.concurrency.rejections", limiter, AdaptiveConcurrencyLimiter::getRejections)
+                .register(registry);
+    }
+}
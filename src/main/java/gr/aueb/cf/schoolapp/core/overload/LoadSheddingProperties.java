@@ -0,0 +1,35 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.load-shedding")
+@Getter
+@Setter
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+    /** Requests that count against the limit. */
+    private List<String> limitedPaths = new ArrayList<>(List.of("/api/teachers/**"));
+    /** Requests that are never limited, even when they also match a limited path. */
+    private List<String> priorityPaths = new ArrayList<>(List.of("/api/auth/**", "/actuator/health/**"));
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    /** How much the recent latency may exceed the long-term latency before the limit shrinks. */
+    private double tolerance = 2.0;
+    /** Weight of a new estimate when the limit is adjusted. */
+    private double smoothing = 0.2;
+    /** Factor the limit is multiplied by after a window with a dropped request. */
+    private double backoffRatio = 0.9;
+    private long windowMs = 1000;
+    private int minWindowSamples = 10;
+    /** Number of windows the long-term latency is averaged over. */
+    private int longWindows = 60;
+    private int retryAfterSeconds = 1;
+}
@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per key (a client address or a user) with the same
+ * capacity and refill rate.
+ * <p>
+ * Buckets that have refilled completely are dropped at most once per
+ * {@code idleEvictionMs}, during a request, since a full bucket carries no
+ * state. A client that stops sending costs nothing after that.
+ */
+public class RateLimitBudget {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long evictionNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction;
+    private final LongAdder rejections = new LongAdder();
+
+    public RateLimitBudget(String name, RateLimitProperties.Budget budget, long idleEvictionMs) {
+        this(name, budget, idleEvictionMs, System::nanoTime);
+    }
+
+    RateLimitBudget(String name, RateLimitProperties.Budget budget, long idleEvictionMs, LongSupplier nanoClock) {
+        this.name = name;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / budget.getRefillPerSecond());
+        this.burstNanos = intervalNanos * budget.getCapacity();
+        this.evictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        this.nanoClock = nanoClock;
+        this.lastEviction = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 if allowed, otherwise the nanoseconds until the key may retry
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        evictIdle(now);
+
+        long wait = buckets.computeIfAbsent(key, k -> new TokenBucket(now)).tryConsume(now, intervalNanos, burstNanos);
+        if (wait > 0) rejections.increment();
+        return wait;
+    }
+
+    private void evictIdle(long now) {
+        long last = lastEviction.get();
+        if (now - last < evictionNanos || !lastEviction.compareAndSet(last, now)) return;
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return buckets.size();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,220 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over their budget with {@code 429} and {@code Retry-After}
+ * before the JWT filter sees them, so a throttled client never causes a token
+ * parse, a user lookup or a BCrypt check.
+ * <ul>
+ *     <li>{@code POST /api/auth/authenticate} is charged to the client address
+ *     and to the username in the body together with that address. The first
+ *     limits spraying from one address, the second guessing one account's
+ *     password. The username bucket is per address so that nobody can lock
+ *     an account out by sending bad logins for it from somewhere else.</li>
+ *     <li>Other {@code /api/**} requests are charged to the client address and,
+ *     when they carry a bearer token, to that token.</li>
+ * </ul>
+ * The token is not verified here. Its user bucket is keyed by the subject
+ * together with the signature, so a forged token for someone else's username
+ * gets a bucket of its own instead of using up theirs. A user can only get
+ * more tokens by logging in, and logins have their own budget.
+ * <p>
+ * Behind a proxy the client address is only right with
+ * {@code server.forward-headers-strategy} set.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String LOGIN_PATH = "/api/auth/authenticate";
+    private static final int MAX_LOGIN_BODY_BYTES = 8 * 1024;
+    private static final int MAX_TOKEN_LENGTH = 4 * 1024;
+
+    private final RequestRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RequestRateLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String address = request.getRemoteAddr();
+        if (HttpMethod.POST.matches(request.getMethod()) && path(request).equals(LOGIN_PATH)) {
+            if (rejected(response, limiter.getLoginIp(), address)) return;
+
+            BufferedBodyRequest login = new BufferedBodyRequest(request, MAX_LOGIN_BODY_BYTES);
+            String username = login.isComplete() ? loginUsername(login.getPrefix()) : null;
+            if (username != null && rejected(response, limiter.getLoginUsername(), username + "@" + address)) return;
+
+            filterChain.doFilter(login, response);
+            return;
+        }
+
+        if (rejected(response, limiter.getReadIp(), address)) return;
+        String tokenKey = tokenKey(request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (tokenKey != null && rejected(response, limiter.getReadUser(), tokenKey)) return;
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean rejected(HttpServletResponse response, RateLimitBudget budget, String key) throws IOException {
+        long waitNanos = budget.tryAcquire(key);
+        if (waitNanos == 0) return false;
+
+        LOGGER.debug("Rate limit {} exceeded by {}", budget.getName(), key);
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"code\": \"TooManyRequests\", \"description\": \"Request rate limit exceeded, retry later\"}");
+        return true;
+    }
+
+    private String loginUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText().trim().toLowerCase() : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; the address budget still applies
+            return null;
+        }
+    }
+
+    /**
+     * {@code subject:signature} of a bearer token, from the payload without
+     * verifying it. {@code null} if there is no well-formed token.
+     */
+    private String tokenKey(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ") || authorization.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        String[] parts = authorization.substring(7).split("\\.");
+        if (parts.length != 3) return null;
+        try {
+            JsonNode subject = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("sub");
+            return (subject != null ? subject.asText() : "") + ":" + parts[2];
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Reads up to {@code limit} bytes of the body up front and replays them,
+     * followed by whatever was not read, to the rest of the chain.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final boolean complete;
+        private ServletInputStream inputStream;
+
+        BufferedBodyRequest(HttpServletRequest request, int limit) throws IOException {
+            super(request);
+            this.prefix = request.getInputStream().readNBytes(limit + 1);
+            this.complete = prefix.length <= limit;
+        }
+
+        byte[] getPrefix() {
+            return prefix;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream remaining = complete ? InputStream.nullInputStream() : super.getInputStream();
+                inputStream = new ReplayingInputStream(new SequenceInputStream(new ByteArrayInputStream(prefix), remaining));
+            }
+            return inputStream;
+        }
+    }
+
+    /**
+     * The body is already in memory, or its rest is the container's stream
+     * which the filter has been reading with blocking calls anyway, so it is
+     * always ready. A read listener is called back straight away and can read
+     * everything in {@code onDataAvailable}.
+     */
+    private static final class ReplayingInputStream extends ServletInputStream {
+
+        private final InputStream body;
+        private boolean finished;
+
+        ReplayingInputStream(InputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = body.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = body.read(b, off, len);
+            finished = n < 0;
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                if (finished) readListener.onAllDataRead();
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
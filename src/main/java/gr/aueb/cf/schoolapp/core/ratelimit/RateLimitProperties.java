@@ -0,0 +1,33 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** How often buckets that have refilled completely are dropped. */
+    private long idleEvictionMs = 60_000;
+    /** Login attempts, keyed by client address and by the username in the request from that address. */
+    private Budget loginIp = new Budget(20, 1);
+    private Budget loginUsername = new Budget(5, 0.2);
+    /** Every other {@code /api/**} request, keyed by client address and by bearer token. */
+    private Budget readIp = new Budget(200, 100);
+    private Budget readUser = new Budget(100, 50);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        /** Requests allowed in a burst. */
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,48 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The four request budgets: login and read, each per client address and per
+ * user. {@link RateLimitFilter} decides which ones a request is charged to.
+ */
+@Component
+@Getter
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RequestRateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final RateLimitBudget loginIp;
+    private final RateLimitBudget loginUsername;
+    private final RateLimitBudget readIp;
+    private final RateLimitBudget readUser;
+
+    public RequestRateLimiter(RateLimitProperties properties) {
+        long eviction = properties.getIdleEvictionMs();
+        this.enabled = properties.isEnabled();
+        this.loginIp = new RateLimitBudget("login.ip", properties.getLoginIp(), eviction);
+        this.loginUsername = new RateLimitBudget("login.username", properties.getLoginUsername(), eviction);
+        this.readIp = new RateLimitBudget("read.ip", properties.getReadIp(), eviction);
+        this.readUser = new RateLimitBudget("read.user", properties.getReadUser(), eviction);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RateLimitBudget budget : List.of(loginIp, loginUsername, readIp, readUser)) {
+            Gauge.builder("rate.limit.buckets", budget, RateLimitBudget::getSize)
+                    .tag("budget", budget.getName())
+                    .register(registry);
+            FunctionCounter.builder("rate.limit.rejections", budget, RateLimitBudget::getRejections)
+                    .tag("budget", budget.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single timestamp, so it can be updated with one
+ * compare-and-set and no lock (the "generic cell rate algorithm").
+ * <p>
+ * Instead of counting tokens, the bucket stores the time at which it would be
+ * full again. Taking a token pushes that time forward by one refill interval.
+ * The request is allowed as long as the bucket would still be full within
+ * {@code capacity} intervals from now. A bucket whose full-time has passed is
+ * indistinguishable from a new one, which is what makes idle eviction safe.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until one is available
+     */
+    long tryConsume(long nowNanos, long intervalNanos, long burstNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) return ahead - burstNanos;
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
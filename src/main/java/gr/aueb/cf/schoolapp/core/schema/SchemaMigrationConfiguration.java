@@ -0,0 +1,44 @@
+package gr.aueb.cf.schoolapp.core.schema;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Decides what Flyway does at startup. The versioned migrations under
+ * {@code db/migration} own the schema, the indexes and the static data;
+ * Hibernate only validates the mappings against them.
+ * <p>
+ * With {@code app.schema.on-boot=migrate} (development, tests, load tests)
+ * pending migrations are applied before the {@code EntityManagerFactory} is
+ * built. In production ({@code validate}) the migrations are applied once per
+ * release by a separate run (see docs/schema-migrations.md), and every
+ * application start only checks that the applied scripts are unchanged and
+ * none is missing, which reads the history table and nothing else.
+ */
+@Configuration
+@EnableConfigurationProperties(SchemaMigrationProperties.class)
+public class SchemaMigrationConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrationConfiguration.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(SchemaMigrationProperties properties) {
+        return flyway -> {
+            switch (properties.getOnBoot()) {
+                case MIGRATE -> flyway.migrate();
+                // Fails on a changed checksum or on a migration that has not been applied yet
+                case VALIDATE -> flyway.validate();
+                case NONE -> {
+                    return;
+                }
+            }
+            MigrationInfo current = flyway.info().current();
+            LOGGER.info("Database schema at version {}", current != null ? current.getVersion() : "<empty>");
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package gr.aueb.cf.schoolapp.core.schema;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.schema")
+@Getter
+@Setter
+public class SchemaMigrationProperties {
+
+    private OnBoot onBoot = OnBoot.VALIDATE;
+
+    public enum OnBoot {
+        /** Apply pending migrations before the application starts. */
+        MIGRATE,
+        /** Verify the checksums of the applied migrations and fail if any is pending. */
+        VALIDATE,
+        /** Leave the database alone, e.g. for a training run that has no database. */
+        NONE
+    }
+}
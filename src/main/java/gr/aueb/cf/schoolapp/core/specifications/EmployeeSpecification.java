@@ -0,0 +1,81 @@
+package gr.aueb.cf.schoolapp.core.specifications;
+
+import gr.aueb.cf.schoolapp.model.Employee;
+import gr.aueb.cf.schoolapp.model.User;
+import gr.aueb.cf.schoolapp.model.static_data.EducationalUnit;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public class EmployeeSpecification {
+
+    private EmployeeSpecification(){}
+
+    public static Specification<Employee> employeeUserAfmIs(String afm) {
+        return ((root, query, criteriaBuilder) -> {
+            if (afm == null || afm.isBlank()) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            return criteriaBuilder.equal(user(root).get("afm"), afm);
+        });
+    }
+
+    public static Specification<Employee> employeeIsActive(Boolean isActive) {
+        return ((root, query, criteriaBuilder) -> {
+            if (isActive == null) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            return criteriaBuilder.equal(user(root).get("isActive"), isActive);
+        });
+    }
+
+    /**
+     * A prefix match, so {@code idx_users_lastname} can serve it.
+     */
+    public static Specification<Employee> employeeUserLastnameStartsWith(String lastname) {
+        return ((root, query, criteriaBuilder) -> {
+            if (lastname == null || lastname.isBlank()) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            return criteriaBuilder.like(user(root).get("lastname"), lastname.trim() + "%");
+        });
+    }
+
+    /**
+     * Employees assigned to at least one of the units, as a subquery on the
+     * join table so an employee with several matching units is listed once.
+     * A {@code null} collection means no restriction, an empty one matches nothing.
+     */
+    public static Specification<Employee> employeeInEducationalUnits(Collection<Long> unitIds) {
+        return ((root, query, criteriaBuilder) -> {
+            if (unitIds == null) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            if (unitIds.isEmpty()) return criteriaBuilder.disjunction();
+
+            Subquery<Long> assigned = query.subquery(Long.class);
+            Root<Employee> employee = assigned.from(Employee.class);
+            Join<Employee, EducationalUnit> unit = employee.join("eduUnits");
+            assigned.select(employee.get("id")).where(unit.get("id").in(unitIds));
+            return root.get("id").in(assigned);
+        });
+    }
+
+    public static Specification<Employee> employeeStringFieldLike(String field, String value) {
+
+        return ((root, query, criteriaBuilder) -> {
+            if (value == null || value.trim().isEmpty()) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            return criteriaBuilder.like(criteriaBuilder.upper(root.get(field)), "%" + value.trim().toUpperCase() + "%");
+        });
+    }
+
+    /**
+     * Reuses the user join when the query already has one, so filters and
+     * sorting on user columns share a single join.
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Employee, User> user(From<?, Employee> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("user") && join.getJoinType() == JoinType.LEFT)
+                .map(join -> (Join<Employee, User>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("user", JoinType.LEFT));
+    }
+}
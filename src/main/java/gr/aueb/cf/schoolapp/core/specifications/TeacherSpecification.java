@@ -18,6 +18,13 @@ public class TeacherSpecification {
         });
     }
 
+    public static Specification<Teacher> teacherUuidIs(String uuid) {
+        return ((root, query, criteriaBuilder) -> {
+            if (uuid == null || uuid.isBlank()) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            return criteriaBuilder.equal(root.get("uuid"), uuid.trim());
+        });
+    }
+
     public static Specification<Teacher> teacherIsActive(Boolean isActive) {
         return ((root, query, criteriaBuilder) -> {
             if (isActive == null) return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
@@ -0,0 +1,25 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EducationalUnitAssignmentDTO {
+
+    @NotEmpty(message = "At least one employee uuid is required")
+    @Size(max = 1000, message = "At most 1000 employees per request")
+    private List<String> employeeUuids;
+
+    @NotEmpty(message = "At least one educational unit id is required")
+    @Size(max = 100, message = "At most 100 educational units per request")
+    private List<Long> educationalUnitIds;
+}
@@ -0,0 +1,16 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EducationalUnitAssignmentResultDTO {
+
+    // Assignments actually created or removed; pairs that were already in place are not counted
+    private int changed;
+}
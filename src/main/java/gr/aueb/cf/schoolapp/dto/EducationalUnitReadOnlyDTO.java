@@ -0,0 +1,16 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable, since one instance is shared by every reader of the reference
+ * data snapshot.
+ */
+@AllArgsConstructor
+@Getter
+public class EducationalUnitReadOnlyDTO {
+    private final long id;
+    private final String name;
+    private final Long regionId;
+}
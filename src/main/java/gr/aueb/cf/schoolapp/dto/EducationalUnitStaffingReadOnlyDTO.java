@@ -0,0 +1,18 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EducationalUnitStaffingReadOnlyDTO {
+
+    private long educationalUnitId;
+    private String name;
+    private long employees;
+    private long activeEmployees;
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EmployeeReadOnlyDTO {
+
+    private Long id;
+    private String uuid;
+    private Boolean isActive;
+
+    private UserReadOnlyDTO user;
+
+    private List<EducationalUnitReadOnlyDTO> educationalUnits;
+}
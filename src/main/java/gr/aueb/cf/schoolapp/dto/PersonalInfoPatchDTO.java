@@ -0,0 +1,27 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The personal info fields a teacher PATCH may change. The AMKA and its
+ * attachment are not among them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PersonalInfoPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "Identity number must not be blank")
+    private String identityNumber;
+
+    @Pattern(regexp = ".*\\S.*", message = "Place of birth must not be blank")
+    private String placeOfBirth;
+
+    @Pattern(regexp = ".*\\S.*", message = "Municipality of registration must not be blank")
+    private String municipalityOfRegistration;
+}
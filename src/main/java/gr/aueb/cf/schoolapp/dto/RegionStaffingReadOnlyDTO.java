@@ -0,0 +1,19 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RegionStaffingReadOnlyDTO {
+
+    private long regionId;
+    private String name;
+    // Summed over the region's units: an employee in two of them counts twice
+    private long employees;
+    private long activeEmployees;
+}
@@ -0,0 +1,19 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class StaffingReadOnlyDTO {
+
+    private long teachers;
+    private long activeTeachers;
+    private List<RegionStaffingReadOnlyDTO> regions;
+}
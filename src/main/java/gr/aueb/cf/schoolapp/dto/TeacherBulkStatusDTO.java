@@ -0,0 +1,27 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Selects the teachers of a bulk status change, either by uuid or by the
+ * same filters as the teacher listings, not both. Unlike the listings, the
+ * uuid filter has to match the whole uuid.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TeacherBulkStatusDTO {
+
+    @Size(max = 10000, message = "At most 10000 teachers per request")
+    private List<String> uuids;
+
+    private TeacherFilters filters;
+}
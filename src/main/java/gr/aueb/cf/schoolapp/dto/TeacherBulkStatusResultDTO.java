@@ -0,0 +1,18 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TeacherBulkStatusResultDTO {
+
+    private int matched;
+    // Rows that already had the requested status are not counted
+    private int teachersUpdated;
+    private int usersUpdated;
+}
@@ -0,0 +1,30 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A partial update of a teacher. Fields left {@code null} keep their value.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TeacherPatchDTO {
+
+    // The revision the changes are based on, as last read from the teacher
+    @NotNull(message = "Revision is required")
+    private Long revision;
+
+    private Boolean isActive;
+
+    @Valid
+    private UserPatchDTO user;
+
+    @Valid
+    private PersonalInfoPatchDTO personalInfo;
+}
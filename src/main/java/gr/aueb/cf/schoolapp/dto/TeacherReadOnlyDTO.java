@@ -1,10 +1,13 @@
 package gr.aueb.cf.schoolapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -18,4 +21,11 @@ public class TeacherReadOnlyDTO {
     private UserReadOnlyDTO user;
 
     private PersonalInfoReadOnlyDTO personalInfo;
+
+    // The teacher's optimistic lock version, sent back with a PATCH
+    private Long revision;
+
+    // Latest update time across teacher, user and personal info, keys the cached JSON
+    @JsonIgnore
+    private LocalDateTime version;
 }
@@ -0,0 +1,23 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable, since one instance is shared by every reader of the statistics
+ * snapshot.
+ */
+@AllArgsConstructor
+@Getter
+public class TeacherStatisticsReadOnlyDTO {
+    private final long total;
+    private final long active;
+    private final long inactive;
+    private final Map<String, Long> byGender;
+    private final Map<String, Long> byRole;
+    private final Map<String, Long> byAgeBand;
+    private final LocalDateTime computedAt;
+}
@@ -0,0 +1,43 @@
+package gr.aueb.cf.schoolapp.dto;
+
+import gr.aueb.cf.schoolapp.core.enums.GenderType;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * The user fields a teacher PATCH may change. Credentials, VAT and role are
+ * not among them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class UserPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    private String firstname;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    private String lastname;
+
+    @Pattern(regexp = ".*\\S.*", message = "Father's name must not be blank")
+    private String fatherName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Father's last name must not be blank")
+    private String fatherLastname;
+
+    @Pattern(regexp = ".*\\S.*", message = "Mother's name must not be blank")
+    private String motherName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Mother's last name must not be blank")
+    private String motherLastname;
+
+    private LocalDate dateOfBirth;
+
+    private GenderType gender;
+}
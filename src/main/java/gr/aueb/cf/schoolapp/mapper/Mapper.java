@@ -1,13 +1,19 @@
 package gr.aueb.cf.schoolapp.mapper;
 
+import gr.aueb.cf.schoolapp.core.cache.ReferenceDataSnapshot;
 import gr.aueb.cf.schoolapp.dto.*;
 import gr.aueb.cf.schoolapp.model.PersonalInfo;
 import gr.aueb.cf.schoolapp.model.Teacher;
 import gr.aueb.cf.schoolapp.model.User;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepositoryCustom.EmployeeRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class Mapper {
@@ -20,6 +26,7 @@ public class Mapper {
         teacherReadOnlyDTO.setId(teacher.getId());
         teacherReadOnlyDTO.setUuid(teacher.getUuid());
         teacherReadOnlyDTO.setIsActive(teacher.getIsActive());
+        teacherReadOnlyDTO.setRevision(teacher.getVersion());
 
         // Map User to UserReadOnlyDTO
         UserReadOnlyDTO userDTO = new UserReadOnlyDTO();
@@ -34,9 +41,37 @@ public class Mapper {
         personalInfoDTO.setIdentityNumber(teacher.getPersonalInfo().getIdentityNumber());
         teacherReadOnlyDTO.setPersonalInfo(personalInfoDTO);
 
+        teacherReadOnlyDTO.setVersion(latest(teacher.getUpdatedAt(),
+                latest(teacher.getUser().getUpdatedAt(), teacher.getPersonalInfo().getUpdatedAt())));
+
         return teacherReadOnlyDTO;
     }
 
+    public EmployeeReadOnlyDTO mapToEmployeeReadOnlyDTO(EmployeeRow employee, List<Long> educationalUnitIds,
+                                                        ReferenceDataSnapshot referenceData) {
+        EmployeeReadOnlyDTO employeeReadOnlyDTO = new EmployeeReadOnlyDTO();
+
+        employeeReadOnlyDTO.setId(employee.id());
+        employeeReadOnlyDTO.setUuid(employee.uuid());
+        employeeReadOnlyDTO.setIsActive(employee.isActive());
+        employeeReadOnlyDTO.setUser(new UserReadOnlyDTO(employee.firstname(), employee.lastname(), employee.afm()));
+
+        // Units come from the reference data snapshot, not from JPA
+        List<EducationalUnitReadOnlyDTO> educationalUnits = new ArrayList<>(educationalUnitIds.size());
+        for (Long unitId : educationalUnitIds) {
+            EducationalUnitReadOnlyDTO unit = referenceData.educationalUnit(unitId);
+            if (unit != null) educationalUnits.add(unit);
+        }
+        employeeReadOnlyDTO.setEducationalUnits(educationalUnits);
+
+        return employeeReadOnlyDTO;
+    }
+
+    private LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) return null;
+        return a.isAfter(b) ? a : b;
+    }
+
 
     public Teacher mapToTeacherEntity(TeacherInsertDTO insertDTO) {
         Teacher teacher = new Teacher();
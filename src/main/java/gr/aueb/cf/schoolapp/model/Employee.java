@@ -27,9 +27,13 @@ public class Employee extends AbstractEntity {
     @Column(name = "is_active")
     private Boolean isActive;
 
+    // Owned by the employee only; bulk changes go straight to the join table (EmployeeRepository).
+    // employees_id is the name ddl-auto gave the column while EducationalUnit mapped the inverse side.
     @ManyToMany
     @JoinTable(
-            name = "employees_edu_units"
+            name = "employees_edu_units",
+            joinColumns = @JoinColumn(name = "employees_id"),
+            inverseJoinColumns = @JoinColumn(name = "edu_units_id")
     )
     private Set<EducationalUnit> eduUnits = new HashSet<>();
 
@@ -42,7 +46,6 @@ public class Employee extends AbstractEntity {
             eduUnits = new HashSet<>();
         }
         eduUnits.add(educationalUnit);
-        educationalUnit.getEmployees().add(this);
     }
 
     @PrePersist
@@ -1,7 +1,9 @@
 package gr.aueb.cf.schoolapp.model;
 
+import gr.aueb.cf.schoolapp.core.cache.TeacherDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
@@ -11,6 +13,8 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Table(name = "personal_information")
+@EntityListeners(TeacherDataChangeListener.class)
+@DynamicUpdate
 public class PersonalInfo extends AbstractEntity {
 
     @Id
@@ -29,7 +33,10 @@ public class PersonalInfo extends AbstractEntity {
     @Column(name = "municipality_of_registration")
     private String municipalityOfRegistration;
 
-    @OneToOne
+    @Version
+    private Long version;
+
+    @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "amka_file_id")
     private Attachment amkaFile;
 }
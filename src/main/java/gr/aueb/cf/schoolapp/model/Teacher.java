@@ -1,7 +1,9 @@
 package gr.aueb.cf.schoolapp.model;
 
+import gr.aueb.cf.schoolapp.core.cache.TeacherDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
@@ -11,7 +13,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "teachers")
+@Table(name = "teachers", indexes = {
+        @Index(name = "idx_teachers_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_teachers_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_teachers_is_active", columnList = "is_active, id")
+})
+@EntityListeners(TeacherDataChangeListener.class)
+@DynamicUpdate
 public class Teacher extends AbstractEntity {
 
     @Id
@@ -24,6 +32,10 @@ public class Teacher extends AbstractEntity {
     @Column(name = "is_active")
     private Boolean isActive;
 
+    // Also raised when only the user or personal info of the teacher changes, see TeacherService.patchTeacher
+    @Version
+    private Long version;
+
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "personal_info_id")
     private PersonalInfo personalInfo;
@@ -1,5 +1,6 @@
 package gr.aueb.cf.schoolapp.model;
 
+import gr.aueb.cf.schoolapp.core.cache.TeacherDataChangeListener;
 import gr.aueb.cf.schoolapp.core.enums.GenderType;
 import gr.aueb.cf.schoolapp.core.enums.Role;
 import jakarta.persistence.*;
@@ -8,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,7 +23,13 @@ import java.util.List;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_lastname", columnList = "lastname, id"),
+        @Index(name = "idx_users_firstname", columnList = "firstname, id"),
+        @Index(name = "idx_users_is_active", columnList = "is_active, id")
+})
+@EntityListeners(TeacherDataChangeListener.class)
+@DynamicUpdate
 public class User extends AbstractEntity implements UserDetails {
 
     @Id
@@ -66,6 +74,9 @@ public class User extends AbstractEntity implements UserDetails {
     @Column(name = "is_active")
     private Boolean isActive;
 
+    @Version
+    private Long version;
+
     @OneToOne(mappedBy = "user")
     private Teacher teacher;
 
@@ -1,12 +1,8 @@
 package gr.aueb.cf.schoolapp.model.static_data;
 
-import gr.aueb.cf.schoolapp.model.Employee;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
@@ -24,6 +20,5 @@ public class EducationalUnit {
     @JoinColumn(name = "region_id")
     private Region region;
 
-    @ManyToMany(mappedBy = "eduUnits")
-    private Set<Employee> employees = new HashSet<>();
+    // No inverse employees collection: initializing it loaded every employee of the unit
 }
@@ -0,0 +1,63 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Reads a page of employees together with their user columns in one
+     * query, plus a count query. No entities are loaded, so the user's eager
+     * {@code teacher} and {@code employee} associations cost nothing.
+     */
+    Page<EmployeeRow> findRows(Specification<Employee> spec, Pageable pageable);
+
+    /**
+     * The educational unit ids of every given employee, read from the join
+     * table in one query however many employees there are.
+     */
+    Map<Long, List<Long>> findEducationalUnitIds(Collection<Long> employeeIds);
+
+    /**
+     * Assigns every given employee to every given unit with a single
+     * {@code INSERT ... SELECT} on the join table. Existing assignments are
+     * skipped, unknown uuids match nothing.
+     *
+     * @return the number of assignments created
+     */
+    int assignEducationalUnits(Collection<String> employeeUuids, Collection<Long> unitIds);
+
+    /**
+     * Removes the assignments of the given employees to the given units with
+     * a single {@code DELETE} on the join table.
+     *
+     * @return the number of assignments removed
+     */
+    int unassignEducationalUnits(Collection<String> employeeUuids, Collection<Long> unitIds);
+
+    /**
+     * Per unit, how many of the given employees are not assigned to it yet,
+     * and how many of those are active: the change {@link #assignEducationalUnits}
+     * is about to make. Units without such employees are left out.
+     */
+    List<UnitCount> countNewAssignments(Collection<String> employeeUuids, Collection<Long> unitIds);
+
+    /**
+     * Per unit, how many of the given employees are assigned to it, and how
+     * many of those are active: the change {@link #unassignEducationalUnits}
+     * is about to make. Units without such employees are left out.
+     */
+    List<UnitCount> countAssignments(Collection<String> employeeUuids, Collection<Long> unitIds);
+
+    record UnitCount(long unitId, long total, long active) {
+    }
+
+    record EmployeeRow(Long id, String uuid, Boolean isActive, String firstname, String lastname, String afm) {
+    }
+}
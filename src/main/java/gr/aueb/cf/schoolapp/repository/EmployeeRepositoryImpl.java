@@ -0,0 +1,149 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.model.Employee;
+import gr.aueb.cf.schoolapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EmployeeRow> findRows(Specification<Employee> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<EmployeeRow> query = cb.createQuery(EmployeeRow.class);
+        Root<Employee> root = query.from(Employee.class);
+        // Left, like the join the user filters and the sort look for, so all of them share it
+        Join<Employee, User> user = root.join("user", JoinType.LEFT);
+        query.select(cb.construct(EmployeeRow.class, root.get("id"), root.get("uuid"), root.get("isActive"),
+                user.get("firstname"), user.get("lastname"), user.get("afm")));
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<EmployeeRow> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Employee> countRoot = count.from(Employee.class);
+        count.select(cb.count(countRoot));
+        where(count, countRoot, cb, spec);
+
+        // A short first page already tells the total
+        long total = pageable.getOffset() == 0 && rows.size() < pageable.getPageSize()
+                ? rows.size()
+                : entityManager.createQuery(count).getSingleResult();
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    @Override
+    public Map<Long, List<Long>> findEducationalUnitIds(Collection<Long> employeeIds) {
+        Map<Long, List<Long>> unitIds = new HashMap<>();
+        if (employeeIds.isEmpty()) return unitIds;
+
+        List<?> links = entityManager.createNativeQuery(
+                        "SELECT employees_id, edu_units_id FROM employees_edu_units WHERE employees_id IN (:employeeIds) "
+                                + "ORDER BY employees_id, edu_units_id")
+                .setParameter("employeeIds", employeeIds)
+                .getResultList();
+        for (Object link : links) {
+            Object[] columns = (Object[]) link;
+            unitIds.computeIfAbsent(((Number) columns[0]).longValue(), id -> new ArrayList<>())
+                    .add(((Number) columns[1]).longValue());
+        }
+        return unitIds;
+    }
+
+    @Override
+    public int assignEducationalUnits(Collection<String> employeeUuids, Collection<Long> unitIds) {
+        if (employeeUuids.isEmpty() || unitIds.isEmpty()) return 0;
+
+        return entityManager.createNativeQuery(
+                        "INSERT IGNORE INTO employees_edu_units (employees_id, edu_units_id) "
+                                + "SELECT e.id, u.id FROM employees e JOIN educational_units u ON u.id IN (:unitIds) "
+                                + "WHERE e.uuid IN (:employeeUuids)")
+                .setParameter("unitIds", unitIds)
+                .setParameter("employeeUuids", employeeUuids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int unassignEducationalUnits(Collection<String> employeeUuids, Collection<Long> unitIds) {
+        if (employeeUuids.isEmpty() || unitIds.isEmpty()) return 0;
+
+        return entityManager.createNativeQuery(
+                        "DELETE FROM employees_edu_units WHERE edu_units_id IN (:unitIds) "
+                                + "AND employees_id IN (SELECT e.id FROM employees e WHERE e.uuid IN (:employeeUuids))")
+                .setParameter("unitIds", unitIds)
+                .setParameter("employeeUuids", employeeUuids)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<UnitCount> countNewAssignments(Collection<String> employeeUuids, Collection<Long> unitIds) {
+        if (employeeUuids.isEmpty() || unitIds.isEmpty()) return List.of();
+
+        return unitCounts(entityManager.createNativeQuery(
+                        "SELECT eu.id, COUNT(*), COALESCE(SUM(CASE WHEN us.is_active THEN 1 ELSE 0 END), 0) "
+                                + "FROM employees e JOIN educational_units eu ON eu.id IN (:unitIds) "
+                                + "LEFT JOIN users us ON us.id = e.user_id "
+                                + "WHERE e.uuid IN (:employeeUuids) AND NOT EXISTS ("
+                                + "SELECT 1 FROM employees_edu_units l WHERE l.employees_id = e.id AND l.edu_units_id = eu.id) "
+                                + "GROUP BY eu.id")
+                .setParameter("unitIds", unitIds)
+                .setParameter("employeeUuids", employeeUuids)
+                .getResultList());
+    }
+
+    @Override
+    public List<UnitCount> countAssignments(Collection<String> employeeUuids, Collection<Long> unitIds) {
+        if (employeeUuids.isEmpty() || unitIds.isEmpty()) return List.of();
+
+        return unitCounts(entityManager.createNativeQuery(
+                        "SELECT l.edu_units_id, COUNT(*), COALESCE(SUM(CASE WHEN us.is_active THEN 1 ELSE 0 END), 0) "
+                                + "FROM employees_edu_units l JOIN employees e ON e.id = l.employees_id "
+                                + "LEFT JOIN users us ON us.id = e.user_id "
+                                + "WHERE l.edu_units_id IN (:unitIds) AND e.uuid IN (:employeeUuids) "
+                                + "GROUP BY l.edu_units_id")
+                .setParameter("unitIds", unitIds)
+                .setParameter("employeeUuids", employeeUuids)
+                .getResultList());
+    }
+
+    private static List<UnitCount> unitCounts(List<?> rows) {
+        List<UnitCount> counts = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            counts.add(new UnitCount(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue(),
+                    ((Number) columns[2]).longValue()));
+        }
+        return counts;
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Employee> root, CriteriaBuilder cb, Specification<Employee> spec) {
+        if (spec == null) return;
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+    }
+}
@@ -0,0 +1,147 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.PersonalInfoReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.UserReadOnlyDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads teachers over R2DBC straight into {@link TeacherReadOnlyDTO}s.
+ * <p>
+ * The filters mean the same as in {@code TeacherSpecification} and the sort
+ * paths of {@link TeacherFilters#SORT_REGISTRY} map onto the columns below,
+ * so both APIs return the same rows in the same order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TeacherReactiveRepository {
+
+    private static final String SELECT = "select t.id, t.uuid, t.is_active, t.version, t.updated_at, "
+            + "u.firstname, u.lastname, u.afm, u.updated_at as user_updated_at, "
+            + "p.amka, p.identity_number, p.updated_at as personal_info_updated_at "
+            + "from teachers t "
+            + "join users u on u.id = t.user_id "
+            + "join personal_information p on p.id = t.personal_info_id";
+
+    private static final String COUNT = "select count(*) from teachers t "
+            + "join users u on u.id = t.user_id "
+            + "join personal_information p on p.id = t.personal_info_id";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "uuid", "t.uuid",
+            "createdAt", "t.created_at",
+            "updatedAt", "t.updated_at",
+            "user.id", "u.id",
+            "user.lastname", "u.lastname",
+            "user.firstname", "u.firstname");
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<TeacherReadOnlyDTO> findByUuid(String uuid) {
+        return reactiveDatabaseClient.sql(SELECT + " where t.uuid = :uuid")
+                .bind("uuid", uuid)
+                .map(TeacherReactiveRepository::toReadOnlyDTO)
+                .one();
+    }
+
+    /**
+     * Streams every match in sort order. Rows are fetched as the subscriber
+     * requests them, so a slow client holds back the query instead of
+     * buffering the result.
+     */
+    public Flux<TeacherReadOnlyDTO> findAll(TeacherFilters filters) {
+        Where where = Where.of(filters);
+        return where.bindTo(reactiveDatabaseClient.sql(SELECT + where.sql + orderBy(filters.getSort())))
+                .map(TeacherReactiveRepository::toReadOnlyDTO)
+                .all();
+    }
+
+    public Flux<TeacherReadOnlyDTO> findPage(TeacherFilters filters) {
+        Where where = Where.of(filters);
+        return where.bindTo(reactiveDatabaseClient.sql(SELECT + where.sql + orderBy(filters.getSort())
+                        + " limit :limit offset :offset"))
+                .bind("limit", filters.getPageSize())
+                .bind("offset", (long) filters.getPage() * filters.getPageSize())
+                .map(TeacherReactiveRepository::toReadOnlyDTO)
+                .all();
+    }
+
+    public Mono<Long> count(TeacherFilters filters) {
+        Where where = Where.of(filters);
+        return where.bindTo(reactiveDatabaseClient.sql(COUNT + where.sql))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static String orderBy(Sort sort) {
+        return sort.stream()
+                .map(order -> SORT_COLUMNS.get(order.getProperty()) + " " + order.getDirection().name())
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    private static TeacherReadOnlyDTO toReadOnlyDTO(Readable row) {
+        UserReadOnlyDTO user = new UserReadOnlyDTO(row.get("firstname", String.class),
+                row.get("lastname", String.class), row.get("afm", String.class));
+        PersonalInfoReadOnlyDTO personalInfo = new PersonalInfoReadOnlyDTO(row.get("amka", String.class),
+                row.get("identity_number", String.class));
+
+        LocalDateTime version = latest(row.get("updated_at", LocalDateTime.class),
+                latest(row.get("user_updated_at", LocalDateTime.class),
+                        row.get("personal_info_updated_at", LocalDateTime.class)));
+
+        return new TeacherReadOnlyDTO(row.get("id", Long.class), row.get("uuid", String.class),
+                row.get("is_active", Boolean.class), user, personalInfo, row.get("version", Long.class), version);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record Where(String sql, Map<String, Object> parameters) {
+
+        static Where of(TeacherFilters filters) {
+            StringBuilder sql = new StringBuilder();
+            Map<String, Object> parameters = new LinkedHashMap<>();
+
+            if (filters.getUuid() != null && !filters.getUuid().trim().isEmpty()) {
+                sql.append(" and upper(t.uuid) like :uuid");
+                parameters.put("uuid", "%" + filters.getUuid().trim().toUpperCase() + "%");
+            }
+            if (filters.getUserAfm() != null && !filters.getUserAfm().isBlank()) {
+                sql.append(" and u.afm = :afm");
+                parameters.put("afm", filters.getUserAfm());
+            }
+            if (filters.getUserAmka() != null && !filters.getUserAmka().isBlank()) {
+                sql.append(" and p.amka = :amka");
+                parameters.put("amka", filters.getUserAmka());
+            }
+            if (filters.getIsActive() != null) {
+                sql.append(" and u.is_active = :active");
+                parameters.put("active", filters.getIsActive());
+            }
+            return new Where(sql.isEmpty() ? "" : " where" + sql.substring(4), parameters);
+        }
+
+        DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+            for (var parameter : parameters.entrySet()) {
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            }
+            return spec;
+        }
+    }
+}
@@ -1,12 +1,33 @@
 package gr.aueb.cf.schoolapp.repository;
 
 import gr.aueb.cf.schoolapp.model.Teacher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface TeacherRepository extends JpaRepository<Teacher, Long>, JpaSpecificationExecutor<Teacher> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, JpaSpecificationExecutor<Teacher>,
+        TeacherRepositoryCustom {
+
+    // The listings map every teacher's user and personal info. They, and the eager one-to-ones behind
+    // them (the user's inverse employee side cannot be lazy), are joined into the page query instead
+    // of being loaded with one select per row.
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.employee", "personalInfo", "personalInfo.amkaFile"})
+    Page<Teacher> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.employee", "personalInfo", "personalInfo.amkaFile"})
+    Page<Teacher> findAll(Specification<Teacher> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.employee", "personalInfo", "personalInfo.amkaFile"})
+    List<Teacher> findAll(Specification<Teacher> spec);
 
     Optional<Teacher> findByUserId(Long id);
     Optional<Teacher> findByUuid(String uuid);
@@ -0,0 +1,49 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.model.Teacher;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TeacherRepositoryCustom {
+
+    /**
+     * Computes a cheap fingerprint of the teachers matching the specification:
+     * their count and the latest {@code updatedAt} across the teacher, its user
+     * and its personal info. Runs as a single aggregate query, no rows are loaded.
+     */
+    Fingerprint fingerprint(Specification<Teacher> spec);
+
+    /**
+     * The teacher id, user id and user status of the teachers matching the
+     * specification, at most {@code limit} of them, read in one query without
+     * loading any entity.
+     */
+    List<TeacherIds> findIds(Specification<Teacher> spec, int limit);
+
+    /**
+     * Sets {@code is_active} on every given teacher whose value differs, in a
+     * single bulk {@code UPDATE} that also bumps {@code updated_at} and the
+     * optimistic lock {@code version}. Bypasses
+     * the persistence context and its entity listeners, so the caller has to
+     * invalidate the teacher caches.
+     *
+     * @return the number of teachers changed
+     */
+    int updateTeacherStatus(Collection<Long> teacherIds, boolean active);
+
+    /**
+     * The same as {@link #updateTeacherStatus} for the given users.
+     *
+     * @return the number of users changed
+     */
+    int updateUserStatus(Collection<Long> userIds, boolean active);
+
+    record TeacherIds(Long teacherId, Long userId, Boolean userActive) {
+    }
+
+    record Fingerprint(long count, LocalDateTime lastUpdatedAt) {
+    }
+}
@@ -0,0 +1,96 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.model.PersonalInfo;
+import gr.aueb.cf.schoolapp.model.Teacher;
+import gr.aueb.cf.schoolapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public class TeacherRepositoryImpl implements TeacherRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Fingerprint fingerprint(Specification<Teacher> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Teacher> root = query.from(Teacher.class);
+        Join<Teacher, User> user = root.join("user");
+        Join<Teacher, PersonalInfo> personalInfo = root.join("personalInfo");
+
+        query.multiselect(
+                cb.count(root),
+                cb.greatest(root.<LocalDateTime>get("updatedAt")),
+                cb.greatest(user.<LocalDateTime>get("updatedAt")),
+                cb.greatest(personalInfo.<LocalDateTime>get("updatedAt")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) query.where(predicate);
+        }
+
+        Object[] result = entityManager.createQuery(query).getSingleResult();
+        LocalDateTime lastUpdatedAt = Stream.of(result[1], result[2], result[3])
+                .map(LocalDateTime.class::cast)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+
+        return new Fingerprint((Long) result[0], lastUpdatedAt);
+    }
+
+    @Override
+    public List<TeacherIds> findIds(Specification<Teacher> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TeacherIds> query = cb.createQuery(TeacherIds.class);
+        Root<Teacher> root = query.from(Teacher.class);
+        Join<Teacher, User> user = root.join("user", JoinType.LEFT);
+        query.select(cb.construct(TeacherIds.class, root.get("id"), user.get("id"), user.get("isActive")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updateTeacherStatus(Collection<Long> teacherIds, boolean active) {
+        if (teacherIds.isEmpty()) return 0;
+
+        return entityManager.createQuery("UPDATE Teacher t SET t.isActive = :active, t.updatedAt = :now, t.version = t.version + 1 "
+                        + "WHERE t.id IN :ids AND (t.isActive IS NULL OR t.isActive <> :active)")
+                .setParameter("active", active)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", teacherIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public int updateUserStatus(Collection<Long> userIds, boolean active) {
+        if (userIds.isEmpty()) return 0;
+
+        return entityManager.createQuery("UPDATE User u SET u.isActive = :active, u.updatedAt = :now, u.version = u.version + 1 "
+                        + "WHERE u.id IN :ids AND (u.isActive IS NULL OR u.isActive <> :active)")
+                .setParameter("active", active)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", userIds)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,214 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.core.exceptions.ValidationException;
+import gr.aueb.cf.schoolapp.core.filters.EmployeeFilters;
+import gr.aueb.cf.schoolapp.core.filters.Paginated;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitAssignmentDTO;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitAssignmentResultDTO;
+import gr.aueb.cf.schoolapp.dto.EmployeeReadOnlyDTO;
+import gr.aueb.cf.schoolapp.service.EmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class EmployeeRestController {
+
+    private final EmployeeService employeeService;
+
+    @Operation(
+            summary = "Get all employees filtered paginated",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Employees Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EmployeeReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Educational Unit or Region Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/employees/all/paginated")
+    public ResponseEntity<Paginated<EmployeeReadOnlyDTO>> getEmployeesFilteredPaginated(@Nullable @RequestBody EmployeeFilters filters)
+            throws AppObjectNotFoundException {
+        if (filters == null) filters = EmployeeFilters.builder().build();
+        return ResponseEntity.ok(employeeService.getEmployeesFilteredPaginated(filters));
+    }
+
+    @Operation(
+            summary = "Get all employees filtered by query parameters paginated",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Employees Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EmployeeReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Educational Unit or Region Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/employees/all/paginated")
+    public ResponseEntity<Paginated<EmployeeReadOnlyDTO>> getEmployeesFilteredPaginatedByQuery(@ModelAttribute EmployeeFilters filters)
+            throws AppObjectNotFoundException {
+        return ResponseEntity.ok(employeeService.getEmployeesFilteredPaginated(filters));
+    }
+
+    @Operation(
+            summary = "Get an employee by uuid",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Employee Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EmployeeReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Employee Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/employees/{uuid}")
+    public ResponseEntity<EmployeeReadOnlyDTO> getEmployee(@PathVariable String uuid) throws AppObjectNotFoundException {
+        return ResponseEntity.ok(employeeService.getEmployeeByUuid(uuid));
+    }
+
+    @Operation(
+            summary = "Assign employees to educational units",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Assignments created",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitAssignmentResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Educational Unit Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/employees/educational-units/assign")
+    public ResponseEntity<EducationalUnitAssignmentResultDTO> assignEducationalUnits(
+            @Valid @RequestBody EducationalUnitAssignmentDTO assignmentDTO,
+            BindingResult bindingResult) throws ValidationException, AppObjectNotFoundException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+        return ResponseEntity.ok(employeeService.assignEducationalUnits(assignmentDTO));
+    }
+
+    @Operation(
+            summary = "Remove employees from educational units",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Assignments removed",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitAssignmentResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Educational Unit Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/employees/educational-units/unassign")
+    public ResponseEntity<EducationalUnitAssignmentResultDTO> unassignEducationalUnits(
+            @Valid @RequestBody EducationalUnitAssignmentDTO assignmentDTO,
+            BindingResult bindingResult) throws ValidationException, AppObjectNotFoundException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+        return ResponseEntity.ok(employeeService.unassignEducationalUnits(assignmentDTO));
+    }
+}
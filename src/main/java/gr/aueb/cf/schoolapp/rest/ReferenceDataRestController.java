@@ -0,0 +1,225 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.core.cache.ReferenceDataSnapshot;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.RegionReadOnlyDTO;
+import gr.aueb.cf.schoolapp.service.ReferenceDataService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Regions and educational units, served from the in-memory snapshot. Every
+ * response carries the snapshot version as a strong ETag, so clients revalidate
+ * with {@code If-None-Match} and get {@code 304} until the data changes.
+ */
+@RestController
+@RequestMapping("/api/reference-data")
+@RequiredArgsConstructor
+public class ReferenceDataRestController {
+
+    private final ReferenceDataService referenceDataService;
+
+    @Operation(
+            summary = "Get all regions",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Regions Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = RegionReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/regions")
+    public ResponseEntity<List<RegionReadOnlyDTO>> getRegions(WebRequest webRequest) {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        String eTag = eTag(snapshot);
+        if (webRequest.checkNotModified(eTag)) return notModified(eTag);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(snapshot.regions());
+    }
+
+    @Operation(
+            summary = "Get a region by id",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Region Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = RegionReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Region Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/regions/{id}")
+    public ResponseEntity<RegionReadOnlyDTO> getRegion(@PathVariable long id, WebRequest webRequest)
+            throws AppObjectNotFoundException {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        RegionReadOnlyDTO region = snapshot.requireRegion(id);
+        String eTag = eTag(snapshot);
+        if (webRequest.checkNotModified(eTag)) return notModified(eTag);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(region);
+    }
+
+    @Operation(
+            summary = "Get the educational units of a region",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Educational Units Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Region Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/regions/{id}/educational-units")
+    public ResponseEntity<List<EducationalUnitReadOnlyDTO>> getEducationalUnitsOfRegion(@PathVariable long id,
+                                                                                        WebRequest webRequest)
+            throws AppObjectNotFoundException {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        List<EducationalUnitReadOnlyDTO> units = snapshot.educationalUnitsOfRegion(id);
+        String eTag = eTag(snapshot);
+        if (webRequest.checkNotModified(eTag)) return notModified(eTag);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(units);
+    }
+
+    @Operation(
+            summary = "Get all educational units",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Educational Units Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/educational-units")
+    public ResponseEntity<List<EducationalUnitReadOnlyDTO>> getEducationalUnits(WebRequest webRequest) {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        String eTag = eTag(snapshot);
+        if (webRequest.checkNotModified(eTag)) return notModified(eTag);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(snapshot.educationalUnits());
+    }
+
+    @Operation(
+            summary = "Get an educational unit by id",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Educational Unit Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Educational Unit Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/educational-units/{id}")
+    public ResponseEntity<EducationalUnitReadOnlyDTO> getEducationalUnit(@PathVariable long id, WebRequest webRequest)
+            throws AppObjectNotFoundException {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        EducationalUnitReadOnlyDTO unit = snapshot.requireEducationalUnit(id);
+        String eTag = eTag(snapshot);
+        if (webRequest.checkNotModified(eTag)) return notModified(eTag);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(unit);
+    }
+
+    @Operation(
+            summary = "Reload the reference data from the database",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Reference data version now in use",
+                            content = @Content(mediaType = "application/json")
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh() {
+        return ResponseEntity.ok(Map.of("version", referenceDataService.refresh()));
+    }
+
+    private static String eTag(ReferenceDataSnapshot snapshot) {
+        return "\"" + snapshot.version() + "\"";
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+    }
+
+    private static CacheControl cacheControl() {
+        // The same for every caller, so shared caches may keep it as long as they revalidate
+        return CacheControl.noCache().cachePublic();
+    }
+}
@@ -0,0 +1,118 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitStaffingReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.StaffingReadOnlyDTO;
+import gr.aueb.cf.schoolapp.service.StaffingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/staffing")
+@RequiredArgsConstructor
+public class StaffingRestController {
+
+    private final StaffingService staffingService;
+
+    @Operation(
+            summary = "Get the teacher totals and the employee counts per region",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Staffing Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = StaffingReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping
+    public ResponseEntity<StaffingReadOnlyDTO> getStaffing() {
+        return ResponseEntity.ok(staffingService.getStaffing());
+    }
+
+    @Operation(
+            summary = "Get the employee counts per educational unit of a region",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Staffing Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = EducationalUnitStaffingReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Region Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/regions/{id}/educational-units")
+    public ResponseEntity<List<EducationalUnitStaffingReadOnlyDTO>> getRegionStaffing(@PathVariable long id)
+            throws AppObjectNotFoundException {
+        return ResponseEntity.ok(staffingService.getRegionStaffing(id));
+    }
+
+    @Operation(
+            summary = "Recount the staffing counters from the database",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Counters Reconciled",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = StaffingReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/reconcile")
+    public ResponseEntity<StaffingReadOnlyDTO> reconcile() {
+        staffingService.reconcile();
+        return ResponseEntity.ok(staffingService.getStaffing());
+    }
+}
@@ -0,0 +1,112 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.core.filters.Paginated;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.service.TeacherReactiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variants of the teacher read endpoints. The request thread is
+ * released while the database works; listings are streamed as
+ * newline-delimited JSON, one teacher per line, written as the client
+ * consumes them.
+ */
+@RestController
+@RequestMapping("/api/teachers/reactive")
+@RequiredArgsConstructor
+public class TeacherReactiveRestController {
+
+    private final TeacherReactiveService teacherReactiveService;
+
+    @Operation(
+            summary = "Stream all teachers filtered by query parameters as NDJSON",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TeacherReadOnlyDTO> streamTeachers(@ModelAttribute TeacherFilters filters) {
+        return teacherReactiveService.streamTeachersFiltered(filters);
+    }
+
+    @Operation(
+            summary = "Get all teachers filtered by query parameters paginated",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/all/paginated")
+    public Mono<Paginated<TeacherReadOnlyDTO>> getTeachersFilteredPaginated(@ModelAttribute TeacherFilters filters) {
+        return teacherReactiveService.getTeachersFilteredPaginated(filters);
+    }
+
+    @Operation(
+            summary = "Get a teacher by uuid",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teacher Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Teacher Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/{uuid}")
+    public Mono<TeacherReadOnlyDTO> getTeacher(@PathVariable String uuid) {
+        return teacherReactiveService.getTeacherByUuid(uuid);
+    }
+}
@@ -1,12 +1,18 @@
 package gr.aueb.cf.schoolapp.rest;
 
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot;
 import gr.aueb.cf.schoolapp.core.exceptions.*;
 import gr.aueb.cf.schoolapp.core.filters.Paginated;
 import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusResultDTO;
 import gr.aueb.cf.schoolapp.dto.TeacherInsertDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherPatchDTO;
 import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherStatisticsReadOnlyDTO;
 import gr.aueb.cf.schoolapp.mapper.Mapper;
 import gr.aueb.cf.schoolapp.service.TeacherService;
+import gr.aueb.cf.schoolapp.service.TeacherStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,16 +22,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +46,10 @@ public class TeacherRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TeacherRestController.class);
     private final TeacherService teacherService;
+    private final TeacherStatisticsService teacherStatisticsService;
+
+    @Value("${app.teachers.http.max-age-seconds:0}")
+    private long cacheMaxAgeSeconds;
 
     @Operation(
             summary = "Get all teachers paginated",
@@ -175,4 +189,272 @@ public class TeacherRestController {
             throw e;
         }
     }
+
+    @Operation(
+            summary = "Get all teachers filtered by query parameters, cacheable",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/teachers/all")
+    public ResponseEntity<List<TeacherReadOnlyDTO>> getTeachersCacheable(@ModelAttribute TeacherFilters filters,
+                                                                         WebRequest webRequest) {
+        String eTag = teacherService.getTeachersFilteredETag(filters, false);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(teacherService.getTeachersFiltered(filters));
+    }
+
+    @Operation(
+            summary = "Get all teachers filtered by query parameters paginated, cacheable",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/teachers/all/paginated")
+    public ResponseEntity<Paginated<TeacherReadOnlyDTO>> getTeachersFilteredPaginatedCacheable(@ModelAttribute TeacherFilters filters,
+                                                                                               WebRequest webRequest) {
+        String eTag = teacherService.getTeachersFilteredETag(filters, true);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(teacherService.getTeachersFilteredPaginated(filters));
+    }
+
+    @Operation(
+            summary = "Get teacher counts by active status, gender, role and age band",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statistics Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherStatisticsReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/teachers/statistics")
+    public ResponseEntity<TeacherStatisticsReadOnlyDTO> getTeacherStatistics(WebRequest webRequest) {
+        TeacherStatisticsSnapshot snapshot = teacherStatisticsService.snapshot();
+        String eTag = "\"" + snapshot.version() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl()).body(snapshot.statistics());
+    }
+
+    @Operation(
+            summary = "Activate the selected teachers and their users",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Activated",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherBulkStatusResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid selection or too many teachers selected",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/teachers/activate")
+    public ResponseEntity<TeacherBulkStatusResultDTO> activateTeachers(
+            @Valid @RequestBody TeacherBulkStatusDTO selection,
+            BindingResult bindingResult) throws ValidationException, AppObjectInvalidArgumentException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+        return ResponseEntity.ok(teacherService.updateTeacherStatus(selection, true));
+    }
+
+    @Operation(
+            summary = "Deactivate the selected teachers and their users",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teachers Deactivated",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherBulkStatusResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid selection or too many teachers selected",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access Denied",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/teachers/deactivate")
+    public ResponseEntity<TeacherBulkStatusResultDTO> deactivateTeachers(
+            @Valid @RequestBody TeacherBulkStatusDTO selection,
+            BindingResult bindingResult) throws ValidationException, AppObjectInvalidArgumentException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+        return ResponseEntity.ok(teacherService.updateTeacherStatus(selection, false));
+    }
+
+    @Operation(
+            summary = "Get a teacher by uuid",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teacher Found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Teacher Not Found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/teachers/{uuid}")
+    public ResponseEntity<TeacherReadOnlyDTO> getTeacher(@PathVariable String uuid) throws AppObjectNotFoundException {
+        return ResponseEntity.ok(teacherService.getTeacherByUuid(uuid));
+    }
+
+    @Operation(
+            summary = "Update some fields of a teacher",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Teacher Updated",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TeacherReadOnlyDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid Input",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Teacher Not Found",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Identity number taken or teacher changed since the given revision",
+                            content = @Content
+                    )
+            }
+    )
+    @PatchMapping("/teachers/{uuid}")
+    public ResponseEntity<TeacherReadOnlyDTO> patchTeacher(
+            @PathVariable String uuid,
+            @Valid @RequestBody TeacherPatchDTO teacherPatchDTO,
+            BindingResult bindingResult) throws ValidationException, AppObjectNotFoundException,
+            AppObjectAlreadyExistsException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+        return ResponseEntity.ok(teacherService.patchTeacher(uuid, teacherPatchDTO));
+    }
+
+    private CacheControl cacheControl() {
+        // Responses depend on the caller's authorization, so only private caches may store them
+        return CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePrivate().mustRevalidate();
+    }
 }
@@ -5,12 +5,15 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
@@ -23,10 +26,22 @@ public class JwtService {
     private String secretKey = "5ce98d378ec88ea09ba8bcd511ef23645f04cc8e70b9134b98723a53c275bbc5";
     private long jwtExpiration = 10800000;  // 3 hours in milliseconds
 
+    private final Timer generateTimer;
+    private final Timer verifyTimer;
+
 //    if use refresh expiration token
 //    private long refreshExpiration = 604800000;
 
+    public JwtService(MeterRegistry meterRegistry) {
+        this.generateTimer = Timer.builder("security.jwt").tag("operation", "generate").register(meterRegistry);
+        this.verifyTimer = Timer.builder("security.jwt").tag("operation", "verify").register(meterRegistry);
+    }
+
     public String generateToken(String username, String role) {
+        return generateTimer.record(() -> buildToken(username, role));
+    }
+
+    private String buildToken(String username, String role) {
         var claims = new HashMap<String, Object>();
         claims.put("role", role);
         return Jwts
@@ -67,12 +82,17 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        try {
+            return Jwts
+                    .parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
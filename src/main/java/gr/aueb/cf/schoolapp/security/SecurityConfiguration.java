@@ -1,10 +1,17 @@
 package gr.aueb.cf.schoolapp.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.aueb.cf.schoolapp.authentication.JwtAuthenticationFilter;
 import gr.aueb.cf.schoolapp.core.enums.Role;
+import gr.aueb.cf.schoolapp.core.metrics.TimedPasswordEncoder;
+import gr.aueb.cf.schoolapp.core.ratelimit.RateLimitFilter;
+import gr.aueb.cf.schoolapp.core.ratelimit.RequestRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -34,6 +41,9 @@ public class SecurityConfiguration {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+    private final RequestRateLimiter requestRateLimiter;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,15 +53,28 @@ public class SecurityConfiguration {
                 .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(myCustomAuthenticationEntryPoint()))
                 .exceptionHandling(exceptions -> exceptions.accessDeniedHandler(myCustomAccessDeniedHandler()))
                 .authorizeHttpRequests(req -> req
+                        // Reactive endpoints complete on an async dispatch, the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/teachers/save").permitAll()
                         .requestMatchers("/api/auth/authenticate").permitAll()
+                        .requestMatchers("/api/teachers/activate", "/api/teachers/deactivate").hasAnyAuthority(Role.SUPER_ADMIN.name())
+                        // A PATCH may change any teacher, including whether it is active
+                        .requestMatchers(HttpMethod.PATCH, "/api/teachers/*").hasAnyAuthority(Role.SUPER_ADMIN.name())
                         .requestMatchers("/api/teachers/**").hasAnyAuthority(Role.TEACHER.name(), Role.SUPER_ADMIN.name())
-                        .requestMatchers("/api/employees/**").hasAnyAuthority(Role.EMPLOYEE.name())
+                        // One bulk call may reassign every employee
+                        .requestMatchers("/api/employees/educational-units/assign", "/api/employees/educational-units/unassign").hasAnyAuthority(Role.SUPER_ADMIN.name())
+                        .requestMatchers("/api/employees/**").hasAnyAuthority(Role.EMPLOYEE.name(), Role.SUPER_ADMIN.name())
+                        .requestMatchers("/api/reference-data/refresh").hasAnyAuthority(Role.SUPER_ADMIN.name())
+                        .requestMatchers("/api/staffing/reconcile").hasAnyAuthority(Role.SUPER_ADMIN.name())
+                        .requestMatchers("/api/staffing/**").hasAnyAuthority(Role.EMPLOYEE.name(), Role.SUPER_ADMIN.name())
+                        // Health stays open for probes; the metrics describe the whole system
+                        .requestMatchers("/actuator/prometheus").hasAnyAuthority(Role.SUPER_ADMIN.name())
                         .requestMatchers("/**").permitAll()
                 )
                 .sessionManagement((session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new RateLimitFilter(requestRateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
                 return http.build();
     }
@@ -79,7 +102,7 @@ public class SecurityConfiguration {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(11);
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(11), meterRegistry);
     }
 
     @Bean
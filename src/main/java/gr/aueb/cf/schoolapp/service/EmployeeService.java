@@ -0,0 +1,135 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.core.cache.ReferenceDataSnapshot;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.core.filters.EmployeeFilters;
+import gr.aueb.cf.schoolapp.core.filters.Paginated;
+import gr.aueb.cf.schoolapp.core.specifications.EmployeeSpecification;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitAssignmentDTO;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitAssignmentResultDTO;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.EmployeeReadOnlyDTO;
+import gr.aueb.cf.schoolapp.mapper.Mapper;
+import gr.aueb.cf.schoolapp.model.Employee;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepository;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepositoryCustom.EmployeeRow;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepositoryCustom.UnitCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Employee listings in a fixed number of statements per page: the rows with
+ * their user columns, the count when the page is not the last one, and the
+ * unit assignments of the whole page. The units themselves are resolved from
+ * the reference data snapshot. Unit assignments are written straight to the
+ * join table, so they cost one statement per request, not per unit member.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeService {
+
+    private final EmployeeRepository employeeRepository;
+    private final ReferenceDataService referenceDataService;
+    private final StaffingService staffingService;
+    private final Mapper mapper;
+
+    @Transactional(readOnly = true)
+    public Paginated<EmployeeReadOnlyDTO> getEmployeesFilteredPaginated(EmployeeFilters filters)
+            throws AppObjectNotFoundException {
+        Page<EmployeeRow> rows = employeeRepository.findRows(getSpecsFromFilters(filters), filters.getPageable());
+        return new Paginated<>(new PageImpl<>(toDTOs(rows.getContent()), rows.getPageable(), rows.getTotalElements()));
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeeReadOnlyDTO getEmployeeByUuid(String uuid) throws AppObjectNotFoundException {
+        Specification<Employee> byUuid = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("uuid"), uuid);
+        List<EmployeeRow> rows = employeeRepository.findRows(byUuid, PageRequest.of(0, 1)).getContent();
+        if (rows.isEmpty()) {
+            throw new AppObjectNotFoundException("Employee", "Employee with uuid " + uuid + " not found");
+        }
+        return toDTOs(rows).get(0);
+    }
+
+    /**
+     * Assigns the employees to the units with one statement on the join table,
+     * whatever the size of the units. Unknown employee uuids are ignored.
+     */
+    @Transactional(rollbackFor = AppObjectNotFoundException.class)
+    public EducationalUnitAssignmentResultDTO assignEducationalUnits(EducationalUnitAssignmentDTO dto)
+            throws AppObjectNotFoundException {
+        List<Long> unitIds = requireEducationalUnits(dto.getEducationalUnitIds());
+        List<String> employeeUuids = distinct(dto.getEmployeeUuids());
+
+        List<UnitCount> expected = employeeRepository.countNewAssignments(employeeUuids, unitIds);
+        int created = employeeRepository.assignEducationalUnits(employeeUuids, unitIds);
+        staffingService.assignmentsCreated(expected, created);
+        return new EducationalUnitAssignmentResultDTO(created);
+    }
+
+    @Transactional(rollbackFor = AppObjectNotFoundException.class)
+    public EducationalUnitAssignmentResultDTO unassignEducationalUnits(EducationalUnitAssignmentDTO dto)
+            throws AppObjectNotFoundException {
+        List<Long> unitIds = requireEducationalUnits(dto.getEducationalUnitIds());
+        List<String> employeeUuids = distinct(dto.getEmployeeUuids());
+
+        List<UnitCount> expected = employeeRepository.countAssignments(employeeUuids, unitIds);
+        int removed = employeeRepository.unassignEducationalUnits(employeeUuids, unitIds);
+        staffingService.assignmentsRemoved(expected, removed);
+        return new EducationalUnitAssignmentResultDTO(removed);
+    }
+
+    private List<Long> requireEducationalUnits(List<Long> unitIds) throws AppObjectNotFoundException {
+        for (Long unitId : distinct(unitIds)) {
+            referenceDataService.getEducationalUnit(unitId);
+        }
+        return distinct(unitIds);
+    }
+
+    private static <T> List<T> distinct(List<T> values) {
+        return values.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private List<EmployeeReadOnlyDTO> toDTOs(List<EmployeeRow> rows) {
+        Map<Long, List<Long>> unitIds = employeeRepository.findEducationalUnitIds(rows.stream().map(EmployeeRow::id).toList());
+
+        ReferenceDataSnapshot current = referenceDataService.snapshot();
+        // A unit added after the snapshot was taken; reload once instead of dropping it
+        if (unitIds.values().stream().flatMap(Collection::stream).anyMatch(id -> current.educationalUnit(id) == null)) {
+            referenceDataService.refresh();
+        }
+
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        return rows.stream()
+                .map(row -> mapper.mapToEmployeeReadOnlyDTO(row, unitIds.getOrDefault(row.id(), List.of()), snapshot))
+                .toList();
+    }
+
+    private Specification<Employee> getSpecsFromFilters(EmployeeFilters filters) throws AppObjectNotFoundException {
+        Collection<Long> unitIds = null;
+        if (filters.getEducationalUnitId() != null) {
+            unitIds = List.of(referenceDataService.getEducationalUnit(filters.getEducationalUnitId()).getId());
+        }
+        if (filters.getRegionId() != null) {
+            List<Long> regionUnitIds = referenceDataService.snapshot().educationalUnitsOfRegion(filters.getRegionId())
+                    .stream().map(EducationalUnitReadOnlyDTO::getId).toList();
+            unitIds = unitIds == null ? regionUnitIds : unitIds.stream().filter(regionUnitIds::contains).toList();
+        }
+
+        return Specification
+                .where(EmployeeSpecification.employeeStringFieldLike("uuid", filters.getUuid())
+                .and(EmployeeSpecification.employeeUserAfmIs(filters.getUserAfm()))
+                .and(EmployeeSpecification.employeeUserLastnameStartsWith(filters.getUserLastname()))
+                .and(EmployeeSpecification.employeeIsActive(filters.getIsActive()))
+                .and(EmployeeSpecification.employeeInEducationalUnits(unitIds)));
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.core.cache.ReferenceDataSnapshot;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.RegionReadOnlyDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The single way to resolve a region or an educational unit by id. Both
+ * tables are read once, on first use, into a {@link ReferenceDataSnapshot};
+ * afterwards every lookup is served from memory.
+ * <p>
+ * The tables only change through migrations, so the snapshot is reloaded on
+ * demand ({@link #refresh()}) and by a periodic version check every
+ * {@code app.reference-data.refresh-interval-ms}. A reload that finds the
+ * same content keeps the current snapshot, so ETags stay valid.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile ReferenceDataSnapshot snapshot;
+
+    public ReferenceDataSnapshot snapshot() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current != null) return current;
+
+        loadLock.lock();
+        try {
+            if (snapshot == null) snapshot = load();
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public RegionReadOnlyDTO getRegion(long id) throws AppObjectNotFoundException {
+        return snapshot().requireRegion(id);
+    }
+
+    public EducationalUnitReadOnlyDTO getEducationalUnit(long id) throws AppObjectNotFoundException {
+        return snapshot().requireEducationalUnit(id);
+    }
+
+    /**
+     * Reloads both tables and replaces the snapshot if their content changed.
+     *
+     * @return the version now in use
+     */
+    public String refresh() {
+        loadLock.lock();
+        try {
+            ReferenceDataSnapshot loaded = load();
+            ReferenceDataSnapshot current = snapshot;
+            if (current == null || !current.version().equals(loaded.version())) {
+                snapshot = loaded;
+                if (current != null) LOGGER.info("Reference data changed, now at version {}", loaded.version());
+            }
+            return snapshot.version();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference-data.refresh-interval-ms:300000}",
+            initialDelayString = "${app.reference-data.refresh-interval-ms:300000}")
+    public void checkForChanges() {
+        // Nothing to compare before the first lookup
+        if (snapshot == null) return;
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not check the reference data for changes, keeping version {}", snapshot.version(), e);
+        }
+    }
+
+    private ReferenceDataSnapshot load() {
+        List<RegionReadOnlyDTO> regions = jdbcTemplate.query("SELECT id, name FROM regions",
+                (rs, row) -> new RegionReadOnlyDTO(rs.getLong("id"), rs.getString("name")));
+        List<EducationalUnitReadOnlyDTO> units = jdbcTemplate.query("SELECT id, name, region_id FROM educational_units",
+                (rs, row) -> new EducationalUnitReadOnlyDTO(rs.getLong("id"), rs.getString("name"),
+                        rs.getObject("region_id", Long.class)));
+        return new ReferenceDataSnapshot(regions, units);
+    }
+}
@@ -0,0 +1,179 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.core.cache.ReferenceDataSnapshot;
+import gr.aueb.cf.schoolapp.core.cache.StaffingCounters;
+import gr.aueb.cf.schoolapp.core.cache.StaffingCounters.Counts;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitStaffingReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.RegionStaffingReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.StaffingReadOnlyDTO;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepositoryCustom.UnitCount;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Staffing counts for the dashboard, read from {@link StaffingCounters}, so
+ * a read costs one lookup per region or unit whatever the number of staff.
+ * <p>
+ * The counters are loaded with two {@code GROUP BY} queries on first use.
+ * Afterwards, the services that change assignments or teachers report their
+ * delta here and it is applied once their transaction commits. Every
+ * {@code app.staffing.reconcile-interval-ms} the queries run again and
+ * replace the counters, which also corrects changes made outside the
+ * application and the rare delta that overlaps a reconciliation.
+ */
+@Service
+@RequiredArgsConstructor
+public class StaffingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaffingService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataService referenceDataService;
+    private final StaffingCounters counters = new StaffingCounters();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    public StaffingReadOnlyDTO getStaffing() {
+        ensureCurrent();
+        List<RegionStaffingReadOnlyDTO> regions = referenceDataService.snapshot().regions().stream()
+                .map(region -> {
+                    Counts counts = counters.region(region.getId());
+                    return new RegionStaffingReadOnlyDTO(region.getId(), region.getName(), counts.total(), counts.active());
+                })
+                .toList();
+        Counts teachers = counters.teachers();
+        return new StaffingReadOnlyDTO(teachers.total(), teachers.active(), regions);
+    }
+
+    public List<EducationalUnitStaffingReadOnlyDTO> getRegionStaffing(long regionId) throws AppObjectNotFoundException {
+        ensureCurrent();
+        return referenceDataService.snapshot().educationalUnitsOfRegion(regionId).stream()
+                .map(unit -> {
+                    Counts counts = counters.unit(unit.getId());
+                    return new EducationalUnitStaffingReadOnlyDTO(unit.getId(), unit.getName(), counts.total(), counts.active());
+                })
+                .toList();
+    }
+
+    /**
+     * Records assignments about to be created in the current transaction.
+     *
+     * @param expected the per-unit change counted before the insert
+     * @param created  the rows the insert reported
+     */
+    public void assignmentsCreated(List<UnitCount> expected, int created) {
+        applyAfterCommit(expected, created, false);
+    }
+
+    /**
+     * Records assignments about to be removed in the current transaction.
+     *
+     * @param expected the per-unit change counted before the delete
+     * @param removed  the rows the delete reported
+     */
+    public void assignmentsRemoved(List<UnitCount> expected, int removed) {
+        applyAfterCommit(expected, removed, true);
+    }
+
+    /**
+     * Records a change to the number of teachers or of active teachers in the
+     * current transaction.
+     */
+    public void teachersChanged(Counts delta) {
+        afterCommit(() -> counters.addTeachers(delta));
+    }
+
+    /**
+     * Replaces every counter with a fresh count from the database.
+     */
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            ReferenceDataSnapshot referenceData = referenceDataService.snapshot();
+            Map<Long, Long> regionOfUnit = new HashMap<>();
+            for (EducationalUnitReadOnlyDTO unit : referenceData.educationalUnits()) {
+                regionOfUnit.put(unit.getId(), unit.getRegionId());
+            }
+
+            Map<Long, Counts> unitCounts = new HashMap<>();
+            jdbcTemplate.query("SELECT l.edu_units_id, COUNT(*), COALESCE(SUM(CASE WHEN u.is_active THEN 1 ELSE 0 END), 0) "
+                            + "FROM employees_edu_units l JOIN employees e ON e.id = l.employees_id "
+                            + "LEFT JOIN users u ON u.id = e.user_id GROUP BY l.edu_units_id",
+                    rs -> {
+                        unitCounts.put(rs.getLong(1), new Counts(rs.getLong(2), rs.getLong(3)));
+                    });
+            Counts teachers = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*), COALESCE(SUM(CASE WHEN u.is_active THEN 1 ELSE 0 END), 0) "
+                            + "FROM teachers t LEFT JOIN users u ON u.id = t.user_id",
+                    (rs, row) -> new Counts(rs.getLong(1), rs.getLong(2)));
+
+            counters.reset(unitCounts, regionOfUnit, teachers);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.staffing.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.staffing.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        // Nothing to correct before the first read
+        if (!counters.isLoaded()) return;
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not reconcile the staffing counters, keeping the current counts", e);
+        }
+    }
+
+    private void ensureCurrent() {
+        if (counters.isLoaded() && !counters.isStale()) return;
+
+        reconcileLock.lock();
+        try {
+            if (!counters.isLoaded() || counters.isStale()) reconcile();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void applyAfterCommit(List<UnitCount> expected, int changed, boolean removed) {
+        long expectedTotal = expected.stream().mapToLong(UnitCount::total).sum();
+        // A concurrent writer got in between the count and the statement; recount instead of guessing
+        if (expectedTotal != changed) {
+            afterCommit(counters::markStale);
+            return;
+        }
+
+        Map<Long, Counts> deltas = new HashMap<>();
+        for (UnitCount count : expected) {
+            Counts delta = new Counts(count.total(), count.active());
+            deltas.put(count.unitId(), removed ? delta.negate() : delta);
+        }
+        afterCommit(() -> counters.addEmployees(deltas));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
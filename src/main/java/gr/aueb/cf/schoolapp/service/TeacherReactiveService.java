@@ -0,0 +1,43 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.core.filters.Paginated;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.repository.TeacherReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read side of {@link TeacherService}. It
+ * bypasses the query caches, which are keyed by and filled from blocking
+ * calls.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeacherReactiveService {
+
+    // Rows requested from the driver at a time while streaming
+    private static final int STREAM_BATCH_SIZE = 256;
+
+    private final TeacherReactiveRepository teacherReactiveRepository;
+
+    public Mono<TeacherReadOnlyDTO> getTeacherByUuid(String uuid) {
+        return teacherReactiveRepository.findByUuid(uuid)
+                .switchIfEmpty(Mono.error(() -> new AppObjectNotFoundException("Teacher",
+                        "Teacher with uuid " + uuid + " not found")));
+    }
+
+    public Flux<TeacherReadOnlyDTO> streamTeachersFiltered(TeacherFilters filters) {
+        return teacherReactiveRepository.findAll(filters).limitRate(STREAM_BATCH_SIZE);
+    }
+
+    public Mono<Paginated<TeacherReadOnlyDTO>> getTeachersFilteredPaginated(TeacherFilters filters) {
+        return Mono.zip(teacherReactiveRepository.findPage(filters).collectList(),
+                        teacherReactiveRepository.count(filters))
+                .map(page -> new Paginated<>(new PageImpl<>(page.getT1(), filters.getPageable(), page.getT2())));
+    }
+}
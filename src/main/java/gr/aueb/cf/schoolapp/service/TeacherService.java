@@ -1,50 +1,100 @@
 package gr.aueb.cf.schoolapp.service;
 
+import gr.aueb.cf.schoolapp.core.cache.SingleFlight;
+import gr.aueb.cf.schoolapp.core.cache.StaffingCounters.Counts;
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache.Flight;
 import gr.aueb.cf.schoolapp.core.exceptions.AppObjectAlreadyExistsException;
 import gr.aueb.cf.schoolapp.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.schoolapp.core.filters.Paginated;
 import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
 import gr.aueb.cf.schoolapp.core.specifications.TeacherSpecification;
+import gr.aueb.cf.schoolapp.dto.PersonalInfoPatchDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusResultDTO;
 import gr.aueb.cf.schoolapp.dto.TeacherInsertDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherPatchDTO;
 import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.UserPatchDTO;
 import gr.aueb.cf.schoolapp.mapper.Mapper;
 import gr.aueb.cf.schoolapp.model.Attachment;
 import gr.aueb.cf.schoolapp.model.PersonalInfo;
 import gr.aueb.cf.schoolapp.model.Teacher;
+import gr.aueb.cf.schoolapp.model.User;
 import gr.aueb.cf.schoolapp.repository.PersonalInfoRepository;
 import gr.aueb.cf.schoolapp.repository.TeacherRepository;
+import gr.aueb.cf.schoolapp.repository.TeacherRepositoryCustom.TeacherIds;
 import gr.aueb.cf.schoolapp.repository.UserRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class TeacherService {
 
     private final TeacherRepository teacherRepository;
     private final Mapper mapper;
     private final UserRepository userRepository;
     private final PersonalInfoRepository personalInfoRepository;
+    private final TeacherQueryCache teacherQueryCache;
+    private final SingleFlight singleFlight;
+    private final StaffingService staffingService;
+    private final TeacherJsonFragmentCache teacherJsonFragmentCache;
+    private final Timer attachmentWriteTimer;
+    private final DistributionSummary attachmentWriteBytes;
+
+    @Value("${app.teachers.bulk.max-rows:10000}")
+    private int bulkMaxRows;
     private static final Logger LOGGER = LoggerFactory.getLogger(TeacherService.class);
 
-    @Transactional(rollbackOn = {AppObjectAlreadyExistsException.class, IOException.class})
+    public TeacherService(TeacherRepository teacherRepository, Mapper mapper, UserRepository userRepository,
+                          PersonalInfoRepository personalInfoRepository, TeacherQueryCache teacherQueryCache,
+                          SingleFlight singleFlight, MeterRegistry meterRegistry, StaffingService staffingService,
+                          TeacherJsonFragmentCache teacherJsonFragmentCache) {
+        this.teacherRepository = teacherRepository;
+        this.mapper = mapper;
+        this.userRepository = userRepository;
+        this.personalInfoRepository = personalInfoRepository;
+        this.teacherQueryCache = teacherQueryCache;
+        this.singleFlight = singleFlight;
+        this.staffingService = staffingService;
+        this.teacherJsonFragmentCache = teacherJsonFragmentCache;
+        // Registered once; a lookup by name on every upload would search the registry each time
+        this.attachmentWriteTimer = Timer.builder("attachments.write").register(meterRegistry);
+        this.attachmentWriteBytes = DistributionSummary.builder("attachments.write.bytes").register(meterRegistry);
+    }
+
+    @Transactional(rollbackFor = {AppObjectAlreadyExistsException.class, IOException.class})
     public TeacherReadOnlyDTO saveTeacher(TeacherInsertDTO teacherInsertDTO, MultipartFile amkaFile)
     throws AppObjectAlreadyExistsException, AppObjectInvalidArgumentException, IOException {
 
@@ -65,6 +115,7 @@ public class TeacherService {
 
         saveAmkaFile(teacher.getPersonalInfo(), amkaFile);
         Teacher savedTeacher = teacherRepository.save(teacher);
+        staffingService.teachersChanged(new Counts(1, Boolean.TRUE.equals(savedTeacher.getUser().getIsActive()) ? 1 : 0));
 
         return mapper.mapToTeacherReadOnlyDTO(savedTeacher);
     }
@@ -79,7 +130,12 @@ public class TeacherService {
         String uploadDirectory = "uploads/";
         Path filePath = Paths.get(uploadDirectory + savedName);
         Files.createDirectories(filePath.getParent());
-        Files.write(filePath, amkaFile.getBytes());
+
+        long start = System.nanoTime();
+        byte[] bytes = amkaFile.getBytes();
+        Files.write(filePath, bytes);
+        attachmentWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        attachmentWriteBytes.record(bytes.length);
 
         Attachment attachment = new Attachment();
         attachment.setFilename(originalFilename);
@@ -99,33 +155,232 @@ public class TeacherService {
         return filename.substring(filename.lastIndexOf('.'));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<TeacherReadOnlyDTO> getPaginatedTeachers(int page, int size) {
 
         String defaultSort = "id";
         Pageable pageable = PageRequest.of(page, size, Sort.by(defaultSort).ascending());
-        return teacherRepository.findAll(pageable).map(mapper::mapToTeacherReadOnlyDTO);
+        TeacherFilters filters = TeacherFilters.builder().build();
+        filters.setPage(page);
+        filters.setPageSize(size);
+
+        var key = TeacherQueryCache.keyOf("paginated", filters);
+        return teacherQueryCache.get(key, generation -> singleFlight.execute(new Flight(key, generation),
+                () -> teacherRepository.findAll(pageable).map(mapper::mapToTeacherReadOnlyDTO)));
     }
 
-    @Transactional
-    public Page<TeacherReadOnlyDTO> getPaginatedSorted(int page, int size, String sortBy, String sortDirection) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return teacherRepository.findAll(pageable).map(mapper::mapToTeacherReadOnlyDTO);
+    @Transactional(readOnly = true)
+    public Page<TeacherReadOnlyDTO> getPaginatedSorted(int page, int size, String sortBy, String sortDirection)
+            throws AppObjectInvalidArgumentException {
+        if (!TeacherFilters.SORT_REGISTRY.supports(sortBy)) {
+            throw new AppObjectInvalidArgumentException("Sort", "Sorting by " + sortBy + " is not supported. Supported fields: "
+                    + TeacherFilters.SORT_REGISTRY.getFields());
+        }
+
+        TeacherFilters filters = TeacherFilters.builder().build();
+        filters.setPage(page);
+        filters.setPageSize(size);
+        filters.setSortBy(sortBy);
+        filters.setSortDirection(Sort.Direction.fromString(sortDirection));
+        Pageable pageable = filters.getPageable();
+
+        return singleFlight.execute(flight("paginatedSorted", filters),
+                () -> teacherRepository.findAll(pageable).map(mapper::mapToTeacherReadOnlyDTO));
     }
 
+    @Transactional(readOnly = true)
     public List<TeacherReadOnlyDTO> getTeachersFiltered(TeacherFilters filters) {
-        return teacherRepository.findAll(getSpecsFromFilters(filters))
-                .stream()
-                .map(mapper::mapToTeacherReadOnlyDTO)
-                .collect(Collectors.toList());
+        return singleFlight.execute(flight("filtered", filters),
+                () -> teacherRepository.findAll(getSpecsFromFilters(filters))
+                        .stream()
+                        .map(mapper::mapToTeacherReadOnlyDTO)
+                        .collect(Collectors.toList()));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Paginated<TeacherReadOnlyDTO> getTeachersFilteredPaginated(TeacherFilters filters) {
 
-        var filtered = teacherRepository.findAll(getSpecsFromFilters(filters), filters.getPageable());
-        return new Paginated<>(filtered.map(mapper::mapToTeacherReadOnlyDTO));
+        var key = TeacherQueryCache.keyOf("filteredPaginated", filters);
+        return teacherQueryCache.get(key, generation -> singleFlight.execute(new Flight(key, generation), () -> {
+            var filtered = teacherRepository.findAll(getSpecsFromFilters(filters), filters.getPageable());
+            return new Paginated<>(filtered.map(mapper::mapToTeacherReadOnlyDTO));
+        }));
+    }
+
+    /**
+     * Returns an ETag for the result of the given filtered query, derived from
+     * the match count and the latest update time over the filter rather than
+     * from the rows themselves, so it can be checked without loading them.
+     */
+    @Transactional(readOnly = true)
+    public String getTeachersFilteredETag(TeacherFilters filters, boolean paginated) {
+        var key = TeacherQueryCache.keyOf(paginated ? "etagPaginated" : "etag", filters);
+        return teacherQueryCache.get(key, generation -> singleFlight.execute(new Flight(key, generation), () -> {
+            var fingerprint = teacherRepository.fingerprint(getSpecsFromFilters(filters));
+            String source = key + "|" + fingerprint.count() + "|" + fingerprint.lastUpdatedAt();
+            return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+        }));
+    }
+
+    /**
+     * Key for coalescing an uncached query. Like the cached ones it carries
+     * the current generation, so a request that arrives after a write has
+     * committed does not wait for a query that started before it.
+     */
+    private Flight flight(String query, TeacherFilters filters) {
+        return new Flight(TeacherQueryCache.keyOf(query, filters), teacherQueryCache.getGeneration());
+    }
+
+    @Transactional(readOnly = true)
+    public TeacherReadOnlyDTO getTeacherByUuid(String uuid) throws AppObjectNotFoundException {
+        return teacherRepository.findByUuid(uuid)
+                .map(mapper::mapToTeacherReadOnlyDTO)
+                .orElseThrow(() -> new AppObjectNotFoundException("Teacher", "Teacher with uuid " + uuid + " not found"));
+    }
+
+    /**
+     * Applies the non-null fields of the patch to the teacher, its user and
+     * its personal info. Hibernate writes only the changed columns of the rows
+     * that changed ({@code @DynamicUpdate}), so the password hash and every
+     * untouched column are never rewritten.
+     * <p>
+     * The teacher's version stands for all three rows: it has to match the
+     * patch's revision, and it is raised whenever any of them changes. A
+     * concurrent change that commits after the check fails the versioned
+     * {@code UPDATE}, so neither request waits for a lock and neither
+     * overwrites the other.
+     */
+    @Transactional(rollbackFor = {AppObjectNotFoundException.class, AppObjectAlreadyExistsException.class})
+    public TeacherReadOnlyDTO patchTeacher(String uuid, TeacherPatchDTO patch)
+            throws AppObjectNotFoundException, AppObjectAlreadyExistsException {
+        Teacher teacher = teacherRepository.findByUuid(uuid)
+                .orElseThrow(() -> new AppObjectNotFoundException("Teacher", "Teacher with uuid " + uuid + " not found"));
+        if (!Objects.equals(teacher.getVersion(), patch.getRevision())) {
+            throw new ObjectOptimisticLockingFailureException(Teacher.class, uuid);
+        }
+
+        User user = teacher.getUser();
+        PersonalInfo personalInfo = teacher.getPersonalInfo();
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
+        boolean changed = false;
+
+        if (patch.getIsActive() != null) {
+            changed |= apply(teacher.getIsActive(), patch.getIsActive(), teacher::setIsActive);
+            changed |= apply(user.getIsActive(), patch.getIsActive(), user::setIsActive);
+        }
+
+        UserPatchDTO userPatch = patch.getUser();
+        if (userPatch != null) {
+            changed |= apply(user.getFirstname(), userPatch.getFirstname(), user::setFirstname);
+            changed |= apply(user.getLastname(), userPatch.getLastname(), user::setLastname);
+            changed |= apply(user.getFatherName(), userPatch.getFatherName(), user::setFatherName);
+            changed |= apply(user.getFatherLastname(), userPatch.getFatherLastname(), user::setFatherLastname);
+            changed |= apply(user.getMotherName(), userPatch.getMotherName(), user::setMotherName);
+            changed |= apply(user.getMotherLastname(), userPatch.getMotherLastname(), user::setMotherLastname);
+            changed |= apply(user.getDateOfBirth(), userPatch.getDateOfBirth(), user::setDateOfBirth);
+            changed |= apply(user.getGender(), userPatch.getGender(), user::setGender);
+        }
+
+        PersonalInfoPatchDTO personalInfoPatch = patch.getPersonalInfo();
+        if (personalInfoPatch != null) {
+            String identityNumber = personalInfoPatch.getIdentityNumber();
+            if (identityNumber != null && !identityNumber.equals(personalInfo.getIdentityNumber())
+                    && personalInfoRepository.findByIdentityNumber(identityNumber).isPresent()) {
+                throw new AppObjectAlreadyExistsException("PersonalInfo", "PersonalInfo with identity number " + identityNumber + " already exists");
+            }
+            changed |= apply(personalInfo.getIdentityNumber(), identityNumber, personalInfo::setIdentityNumber);
+            changed |= apply(personalInfo.getPlaceOfBirth(), personalInfoPatch.getPlaceOfBirth(), personalInfo::setPlaceOfBirth);
+            changed |= apply(personalInfo.getMunicipalityOfRegistration(), personalInfoPatch.getMunicipalityOfRegistration(),
+                    personalInfo::setMunicipalityOfRegistration);
+        }
+
+        if (!changed) return mapper.mapToTeacherReadOnlyDTO(teacher);
+
+        // Touch the teacher so its version also moves when only the user or personal info changed
+        teacher.setUpdatedAt(LocalDateTime.now());
+        // Flush now, so a version conflict surfaces here and the response carries the new revision
+        teacherRepository.flush();
+
+        boolean isActive = Boolean.TRUE.equals(user.getIsActive());
+        if (isActive != wasActive) staffingService.teachersChanged(new Counts(0, isActive ? 1 : -1));
+        return mapper.mapToTeacherReadOnlyDTO(teacher);
+    }
+
+    private static <T> boolean apply(T current, T value, Consumer<T> setter) {
+        if (value == null || value.equals(current)) return false;
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Activates or deactivates every selected teacher and its user with one
+     * bulk {@code UPDATE} per table, after reading the matching ids in one
+     * query. The updates bypass the entity listeners, so the teacher caches
+     * are invalidated here, once now and once after the transaction, as the
+     * listener would.
+     */
+    @Transactional(rollbackFor = AppObjectInvalidArgumentException.class)
+    public TeacherBulkStatusResultDTO updateTeacherStatus(TeacherBulkStatusDTO selection, boolean active)
+            throws AppObjectInvalidArgumentException {
+        List<TeacherIds> ids = teacherRepository.findIds(getSpecsFromSelection(selection), bulkMaxRows + 1);
+        if (ids.size() > bulkMaxRows) {
+            throw new AppObjectInvalidArgumentException("Teacher", "More than " + bulkMaxRows
+                    + " teachers match the selection, narrow it down");
+        }
+
+        List<Long> teacherIds = ids.stream().map(TeacherIds::teacherId).toList();
+        List<Long> userIds = ids.stream().map(TeacherIds::userId).filter(Objects::nonNull).toList();
+        int teachersUpdated = teacherRepository.updateTeacherStatus(teacherIds, active);
+        int usersUpdated = teacherRepository.updateUserStatus(userIds, active);
+
+        long activeChange = ids.stream().filter(row -> row.userId() != null && Boolean.TRUE.equals(row.userActive()) != active).count();
+        staffingService.teachersChanged(new Counts(0, active ? activeChange : -activeChange));
+        invalidateTeacherCaches();
+
+        LOGGER.info("Bulk {} of {} teachers: {} teachers and {} users changed", active ? "activation" : "deactivation",
+                ids.size(), teachersUpdated, usersUpdated);
+        return new TeacherBulkStatusResultDTO(ids.size(), teachersUpdated, usersUpdated);
+    }
+
+    private void invalidateTeacherCaches() {
+        teacherQueryCache.invalidateAll();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            teacherJsonFragmentCache.clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                teacherQueryCache.invalidateAll();
+                teacherJsonFragmentCache.clear();
+            }
+        });
+    }
+
+    private Specification<Teacher> getSpecsFromSelection(TeacherBulkStatusDTO selection)
+            throws AppObjectInvalidArgumentException {
+        boolean byUuid = selection.getUuids() != null && !selection.getUuids().isEmpty();
+        TeacherFilters filters = selection.getFilters();
+        boolean byFilters = filters != null && (filters.getIsActive() != null
+                || !isBlank(filters.getUuid()) || !isBlank(filters.getUserAfm()) || !isBlank(filters.getUserAmka()));
+
+        if (byUuid == byFilters) {
+            throw new AppObjectInvalidArgumentException("Teacher", "Select the teachers either by uuids or by at least one filter");
+        }
+        if (byUuid) {
+            List<String> uuids = selection.getUuids();
+            return (root, query, criteriaBuilder) -> root.get("uuid").in(uuids);
+        }
+        // Exact matches only: the listings' substring match on the uuid would widen a bulk change
+        return Specification
+                .where(TeacherSpecification.teacherUuidIs(filters.getUuid())
+                .and(TeacherSpecification.teacherUserAfmIs(filters.getUserAfm()))
+                .and(TeacherSpecification.teacherPersonalInfoAmkaIs(filters.getUserAmka()))
+                .and(TeacherSpecification.teacherIsActive(filters.getIsActive())));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     private Specification<Teacher> getSpecsFromFilters(TeacherFilters filters) {
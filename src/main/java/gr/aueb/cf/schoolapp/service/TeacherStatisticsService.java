@@ -0,0 +1,111 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot;
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot.AgeBand;
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot.Group;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Teacher statistics from a single {@code GROUP BY} over active status,
+ * gender, role and age band, kept as a {@link TeacherStatisticsSnapshot}.
+ * <p>
+ * The snapshot remembers the {@link TeacherQueryCache} generation it was
+ * computed at. Every write to a teacher or user bumps that generation, so the
+ * first read after a write recomputes; reads without writes in between share
+ * one snapshot. The age bands depend on the date, so a new day recomputes
+ * too, and every {@code app.teachers.statistics.refresh-interval-ms} the
+ * snapshot is recomputed to pick up changes made outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeacherStatisticsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeacherStatisticsService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TeacherQueryCache teacherQueryCache;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Cached cached;
+
+    public TeacherStatisticsSnapshot snapshot() {
+        Cached current = cached;
+        if (isCurrent(current)) return current.snapshot();
+
+        loadLock.lock();
+        try {
+            // Another reader may have recomputed while this one waited
+            if (!isCurrent(cached)) cached = load();
+            return cached.snapshot();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.teachers.statistics.refresh-interval-ms:300000}",
+            initialDelayString = "${app.teachers.statistics.refresh-interval-ms:300000}")
+    public void refresh() {
+        // Nothing to refresh before the first read
+        if (cached == null) return;
+
+        loadLock.lock();
+        try {
+            cached = load();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not recompute the teacher statistics, keeping the current snapshot", e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isCurrent(Cached current) {
+        return current != null
+                && current.generation() == teacherQueryCache.getGeneration()
+                && current.snapshot().date().equals(LocalDate.now());
+    }
+
+    private Cached load() {
+        // Read before the query, so a write that commits while it runs forces the next read to recompute
+        long generation = teacherQueryCache.getGeneration();
+        LocalDate today = LocalDate.now();
+
+        StringBuilder ageBand = new StringBuilder("CASE WHEN u.date_of_birth IS NULL THEN NULL");
+        List<Object> cutoffs = new ArrayList<>();
+        AgeBand[] bands = AgeBand.values();
+        for (int i = 0; i < bands.length - 1; i++) {
+            ageBand.append(" WHEN u.date_of_birth > ? THEN ").append(i);
+            cutoffs.add(Date.valueOf(bands[i].bornOnOrBefore(today)));
+        }
+        ageBand.append(" ELSE ").append(bands.length - 1).append(" END");
+
+        List<Group> groups = jdbcTemplate.query(
+                "SELECT is_active, gender, role, age_band, COUNT(*) AS teachers FROM ("
+                        + "SELECT u.is_active, u.gender, u.role, " + ageBand + " AS age_band "
+                        + "FROM teachers t LEFT JOIN users u ON u.id = t.user_id) s "
+                        + "GROUP BY is_active, gender, role, age_band",
+                (rs, row) -> {
+                    int band = rs.getInt("age_band");
+                    AgeBand ageBandOfRow = rs.wasNull() ? null : bands[band];
+                    return new Group(rs.getObject("is_active", Boolean.class), rs.getString("gender"),
+                            rs.getString("role"), ageBandOfRow, rs.getLong("teachers"));
+                },
+                cutoffs.toArray());
+
+        return new Cached(generation, new TeacherStatisticsSnapshot(today, LocalDateTime.now(), groups));
+    }
+
+    private record Cached(long generation, TeacherStatisticsSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,111 @@
+-- The schema as hibernate ddl-auto=update created it, including the index plan (docs/index-plan.md).
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE regions (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE educational_units (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255),
+    region_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_educational_units_region FOREIGN KEY (region_id) REFERENCES regions (id)
+);
+
+CREATE TABLE attachments (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6) NOT NULL,
+    content_type varchar(255),
+    extension varchar(255),
+    file_path varchar(255),
+    filename varchar(255),
+    saved_name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE personal_information (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6) NOT NULL,
+    amka varchar(255),
+    identity_number varchar(255),
+    municipality_of_registration varchar(255),
+    place_of_birth varchar(255),
+    amka_file_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_personal_information_amka UNIQUE (amka),
+    CONSTRAINT uk_personal_information_identity_number UNIQUE (identity_number),
+    CONSTRAINT uk_personal_information_amka_file UNIQUE (amka_file_id),
+    CONSTRAINT fk_personal_information_amka_file FOREIGN KEY (amka_file_id) REFERENCES attachments (id)
+);
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6) NOT NULL,
+    afm varchar(255),
+    date_of_birth date,
+    father_lastname varchar(255),
+    father_name varchar(255),
+    firstname varchar(255) NOT NULL,
+    gender enum ('MALE','FEMALE','OTHER'),
+    is_active bit DEFAULT true,
+    lastname varchar(255) NOT NULL,
+    mother_lastname varchar(255),
+    mother_name varchar(255),
+    password varchar(255),
+    role enum ('TEACHER','EMPLOYEE','SUPER_ADMIN'),
+    username varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_afm UNIQUE (afm),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE INDEX idx_users_lastname ON users (lastname, id);
+CREATE INDEX idx_users_firstname ON users (firstname, id);
+CREATE INDEX idx_users_is_active ON users (is_active, id);
+
+CREATE TABLE teachers (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6) NOT NULL,
+    is_active bit,
+    uuid varchar(255),
+    personal_info_id bigint,
+    user_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_teachers_uuid UNIQUE (uuid),
+    CONSTRAINT uk_teachers_personal_info UNIQUE (personal_info_id),
+    CONSTRAINT uk_teachers_user UNIQUE (user_id),
+    CONSTRAINT fk_teachers_personal_info FOREIGN KEY (personal_info_id) REFERENCES personal_information (id),
+    CONSTRAINT fk_teachers_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_teachers_created_at ON teachers (created_at, id);
+CREATE INDEX idx_teachers_updated_at ON teachers (updated_at, id);
+CREATE INDEX idx_teachers_is_active ON teachers (is_active, id);
+
+CREATE TABLE employees (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) NOT NULL,
+    updated_at datetime(6) NOT NULL,
+    is_active bit,
+    uuid varchar(255),
+    user_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_uuid UNIQUE (uuid),
+    CONSTRAINT uk_employees_user UNIQUE (user_id),
+    CONSTRAINT fk_employees_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE employees_edu_units (
+    employees_id bigint NOT NULL,
+    edu_units_id bigint NOT NULL,
+    PRIMARY KEY (employees_id, edu_units_id),
+    CONSTRAINT fk_employees_edu_units_employee FOREIGN KEY (employees_id) REFERENCES employees (id),
+    CONSTRAINT fk_employees_edu_units_unit FOREIGN KEY (edu_units_id) REFERENCES educational_units (id)
+);
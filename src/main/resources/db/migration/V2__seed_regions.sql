@@ -1,4 +1,4 @@
-INSERT INTO regions (id, name) VALUES
+INSERT IGNORE INTO regions (id, name) VALUES
 (1,'ΑΝΑΤΟΛΙΚΗΣ ΜΑΚΕΔΟΝΙΑΣ ΚΑΙ ΘΡΑΚΗΣ'),
 (2,'ΑΤΤΙΚΗΣ'),
 (3,'ΒΟΡΕΙΟΥ ΑΙΓΑΙΟΥ'),
@@ -12,4 +12,3 @@ INSERT INTO regions (id, name) VALUES
 (11,'ΝΟΤΙΟΥ ΑΙΓΑΙΟΥ'),
 (12,'ΠΕΛΟΠΟΝΝΗΣΟΥ'),
 (13,'ΣΤΕΡΕΑΣ ΕΛΛΑΔΑΣ');
-ALTER TABLE regions AUTO_INCREMENT = 14;
\ No newline at end of file
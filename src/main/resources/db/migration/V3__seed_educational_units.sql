@@ -1,4 +1,4 @@
-INSERT INTO educational_units (id, name,region_id) VALUES
+INSERT IGNORE INTO educational_units (id, name,region_id) VALUES
             (1,'Coding Factory ΘΕΣΣΑΛΟΝΙΚΗΣ',9),
             (2,'Coding Factory  ΘΕΣΣΑΛΟΝΙΚΗΣ',9),
             (3,'Coding Factory ΚΕΔΙΒΙΜ ΘΕΣΣΑΛΟΝΙΚΗΣ',9),
@@ -23,5 +23,3 @@ INSERT INTO educational_units (id, name,region_id) VALUES
             (22,'Coding Factory ΚΑΤΕΡΙΝΗΣ',9),
             (23,'Coding Factory ΚΕΡΚΥΡΑΣ',8),
             (24,'Coding Factory ΚΙΛΚΙΣ',9);
-
-ALTER TABLE educational_units AUTO_INCREMENT = 25;
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- Optimistic locking for the teacher PATCH endpoint: Teacher, User and PersonalInfo carry a @Version.
+-- Existing rows start at 0.
+
+ALTER TABLE teachers ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE personal_information ADD COLUMN version bigint NOT NULL DEFAULT 0;
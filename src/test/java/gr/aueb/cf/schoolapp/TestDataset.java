@@ -0,0 +1,117 @@
+package gr.aueb.cf.schoolapp;
+
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache;
+import gr.aueb.cf.schoolapp.service.StaffingService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Rows for the tests that run against the {@code h2} profile, written with
+ * plain JDBC like the load test's {@code DatasetSeeder}. Each row's values
+ * derive from its id: afm {@code %09d}, amka {@code %011d}, identity number
+ * {@code AK<id>}.
+ * <p>
+ * Inserts bypass the entity listeners, so call {@link #changed()} once the
+ * rows of a test are in place to drop the teacher caches and recount the
+ * staffing counters.
+ */
+public class TestDataset {
+
+    private static final String[] FIRSTNAMES = {"Γιώργος", "Μαρία", "Νίκος", "Ελένη", "Κώστας"};
+    private static final String[] LASTNAMES = {"Παπαδόπουλος", "Γεωργίου", "Νικολάου", "Οικονόμου"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TeacherQueryCache teacherQueryCache;
+    private final TeacherJsonFragmentCache teacherJsonFragmentCache;
+    private final StaffingService staffingService;
+
+    public TestDataset(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.teacherQueryCache = context.getBean(TeacherQueryCache.class);
+        this.teacherJsonFragmentCache = context.getBean(TeacherJsonFragmentCache.class);
+        this.staffingService = context.getBean(StaffingService.class);
+    }
+
+    /**
+     * Deletes every user, teacher and employee; regions and educational
+     * units stay as the migrations seeded them.
+     */
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM employees_edu_units");
+        jdbcTemplate.update("DELETE FROM employees");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM personal_information");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM attachments");
+        changed();
+    }
+
+    public void changed() {
+        teacherQueryCache.invalidateAll();
+        teacherJsonFragmentCache.clear();
+        staffingService.reconcile();
+    }
+
+    /**
+     * Inserts a teacher with its user and personal info, all with the given
+     * id, and returns its uuid.
+     */
+    public String teacher(long id, boolean active) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(id * 7 % 1000));
+        Timestamp updatedAt = Timestamp.valueOf(createdAt.toLocalDateTime().plusMinutes(id * 13 % 1000));
+        String uuid = UUID.randomUUID().toString();
+
+        user(id, "teacher" + id + "@aueb.gr", "TEACHER", active, createdAt, updatedAt);
+        jdbcTemplate.update("INSERT INTO personal_information (id, amka, identity_number, place_of_birth, "
+                        + "municipality_of_registration, created_at, updated_at) VALUES (?, ?, ?, 'Αθήνα', 'Αθηνών', ?, ?)",
+                id, amka(id), identityNumber(id), createdAt, updatedAt);
+        jdbcTemplate.update("INSERT INTO teachers (id, uuid, is_active, personal_info_id, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", id, uuid, active, id, id, createdAt, updatedAt);
+        return uuid;
+    }
+
+    /**
+     * Inserts an employee and its user, both with the given id, and returns
+     * its uuid.
+     */
+    public String employee(long id, boolean active) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String uuid = UUID.randomUUID().toString();
+
+        user(id, "employee" + id + "@aueb.gr", "EMPLOYEE", active, now, now);
+        jdbcTemplate.update("INSERT INTO employees (id, uuid, is_active, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", id, uuid, active, id, now, now);
+        return uuid;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public static String afm(long id) {
+        return String.format("%09d", id);
+    }
+
+    public static String amka(long id) {
+        return String.format("%011d", id);
+    }
+
+    public static String identityNumber(long id) {
+        return "AK" + id;
+    }
+
+    private void user(long id, String username, String role, boolean active, Timestamp createdAt, Timestamp updatedAt) {
+        jdbcTemplate.update("INSERT INTO users (id, username, password, firstname, lastname, afm, father_name, mother_name, "
+                        + "father_lastname, mother_lastname, date_of_birth, gender, role, is_active, created_at, updated_at) "
+                        + "VALUES (?, ?, '{noop}secret', ?, ?, ?, '-', '-', '-', '-', ?, ?, ?, ?, ?, ?)",
+                id, username, FIRSTNAMES[(int) (id % FIRSTNAMES.length)], LASTNAMES[(int) (id % LASTNAMES.length)],
+                afm(id), LocalDate.of(1960 + (int) (id % 40), 1, 1), id % 2 == 0 ? "FEMALE" : "MALE", role, active,
+                createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,60 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.RegionReadOnlyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReferenceDataSnapshotTest {
+
+    private static final List<RegionReadOnlyDTO> REGIONS = List.of(
+            new RegionReadOnlyDTO(9, "ΚΕΝΤΡΙΚΗΣ ΜΑΚΕΔΟΝΙΑΣ"),
+            new RegionReadOnlyDTO(2, "ΑΤΤΙΚΗΣ"));
+
+    private static final List<EducationalUnitReadOnlyDTO> UNITS = List.of(
+            new EducationalUnitReadOnlyDTO(6, "Coding Factory ΑΙΓΑΛΕΩ", 2L),
+            new EducationalUnitReadOnlyDTO(1, "Coding Factory ΘΕΣΣΑΛΟΝΙΚΗΣ", 9L),
+            new EducationalUnitReadOnlyDTO(4, "Coding Factory ΑΓΙΩΝ ΑΝΑΡΓΥΡΩΝ", 2L));
+
+    @Test
+    void looksUpById() throws AppObjectNotFoundException {
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(REGIONS, UNITS);
+
+        assertEquals("ΑΤΤΙΚΗΣ", snapshot.region(2).getName());
+        assertEquals("Coding Factory ΘΕΣΣΑΛΟΝΙΚΗΣ", snapshot.requireEducationalUnit(1).getName());
+        assertNull(snapshot.region(3));
+        assertThrows(AppObjectNotFoundException.class, () -> snapshot.requireEducationalUnit(5));
+    }
+
+    @Test
+    void listsInIdOrderAndGroupsUnitsByRegion() throws AppObjectNotFoundException {
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(REGIONS, UNITS);
+
+        assertEquals(List.of(2L, 9L), snapshot.regions().stream().map(RegionReadOnlyDTO::getId).toList());
+        assertEquals(List.of(4L, 6L), snapshot.educationalUnitsOfRegion(2).stream().map(EducationalUnitReadOnlyDTO::getId).toList());
+        assertThrows(AppObjectNotFoundException.class, () -> snapshot.educationalUnitsOfRegion(3));
+    }
+
+    @Test
+    void versionDependsOnContentOnly() {
+        String version = new ReferenceDataSnapshot(REGIONS, UNITS).version();
+
+        assertEquals(version, new ReferenceDataSnapshot(reversed(REGIONS), reversed(UNITS)).version());
+        assertNotEquals(version, new ReferenceDataSnapshot(REGIONS, UNITS.subList(0, 2)).version());
+    }
+
+    private static <T> List<T> reversed(List<T> list) {
+        List<T> copy = new ArrayList<>(list);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
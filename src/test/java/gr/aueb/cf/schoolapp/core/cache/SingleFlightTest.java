@@ -0,0 +1,139 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeadersResult() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 5000);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", heldLoad(() -> "rows")));
+        assertTrue(leaderStarted.await(5, SECONDS));
+
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(executor.submit(() -> singleFlight.execute("key", () -> "second query")));
+        }
+        awaitMerged(singleFlight, 3);
+        release.countDown();
+
+        assertEquals("rows", leader.get(5, SECONDS));
+        for (Future<String> waiter : waiters) assertEquals("rows", waiter.get(5, SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(3, singleFlight.getMerged());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void everyWaiterGetsTheLeadersFailure() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 5000);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", heldLoad(() -> {
+            throw failure;
+        })));
+        assertTrue(leaderStarted.await(5, SECONDS));
+
+        Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> "second query"));
+        Future<String> second = executor.submit(() -> singleFlight.execute("key", () -> "third query"));
+        awaitMerged(singleFlight, 2);
+        release.countDown();
+
+        for (Future<String> caller : List.of(leader, first, second)) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> caller.get(5, SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, singleFlight.getFailures());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void waiterRunsTheLoadItselfAfterTheTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 50);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", heldLoad(() -> "stuck rows")));
+        assertTrue(leaderStarted.await(5, SECONDS));
+
+        assertEquals("own rows", singleFlight.execute("key", () -> "own rows"));
+        assertEquals(1, singleFlight.getMerged());
+        assertEquals(1, singleFlight.getTimeouts());
+
+        release.countDown();
+        assertEquals("stuck rows", leader.get(5, SECONDS));
+    }
+
+    @Test
+    void differentKeysAndLaterCallsRunTheirOwnLoad() {
+        SingleFlight singleFlight = new SingleFlight(true, 5000);
+
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+        assertEquals("a again", singleFlight.execute("a", () -> "a again"));
+
+        assertEquals(3, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getMerged());
+    }
+
+    @Test
+    void disabledRunsEveryLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(false, 5000);
+        Future<String> first = executor.submit(() -> singleFlight.execute("key", heldLoad(() -> "first")));
+        assertTrue(leaderStarted.await(5, SECONDS));
+
+        assertEquals("second", singleFlight.execute("key", () -> "second"));
+        release.countDown();
+        assertEquals("first", first.get(5, SECONDS));
+        assertEquals(0, singleFlight.getMerged());
+    }
+
+    /**
+     * A load that signals it started and then waits for {@link #release}.
+     */
+    private <T> Supplier<T> heldLoad(Supplier<T> result) {
+        return () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private static void awaitMerged(SingleFlight singleFlight, int waiters) {
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (singleFlight.getMerged() < waiters) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Only " + singleFlight.getMerged() + " waiters joined");
+            Thread.onSpinWait();
+        }
+    }
+}
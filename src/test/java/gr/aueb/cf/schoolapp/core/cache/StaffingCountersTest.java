@@ -0,0 +1,59 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.cache.StaffingCounters.Counts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaffingCountersTest {
+
+    // Units 4 and 6 are in region 2, unit 1 in region 9
+    private static final Map<Long, Long> REGION_OF_UNIT = Map.of(1L, 9L, 4L, 2L, 6L, 2L);
+
+    @Test
+    void sumsUnitsIntoTheirRegion() {
+        StaffingCounters counters = new StaffingCounters();
+        counters.reset(Map.of(4L, new Counts(3, 2), 6L, new Counts(5, 5)), REGION_OF_UNIT, new Counts(10, 7));
+
+        assertEquals(new Counts(8, 7), counters.region(2));
+        assertEquals(Counts.NONE, counters.region(9));
+        assertEquals(new Counts(5, 5), counters.unit(6));
+        assertEquals(new Counts(10, 7), counters.teachers());
+    }
+
+    @Test
+    void appliesDeltasToUnitAndRegion() {
+        StaffingCounters counters = new StaffingCounters();
+        counters.reset(Map.of(4L, new Counts(3, 2)), REGION_OF_UNIT, Counts.NONE);
+
+        counters.addEmployees(Map.of(4L, new Counts(2, 1), 1L, new Counts(1, 0)));
+        counters.addEmployees(Map.of(4L, new Counts(1, 1).negate()));
+        counters.addTeachers(new Counts(1, 1));
+
+        assertEquals(new Counts(4, 2), counters.unit(4));
+        assertEquals(new Counts(4, 2), counters.region(2));
+        assertEquals(new Counts(1, 0), counters.region(9));
+        assertEquals(new Counts(1, 1), counters.teachers());
+        assertFalse(counters.isStale());
+    }
+
+    @Test
+    void ignoresDeltasBeforeTheFirstLoadAndGoesStaleOnUnknownUnits() {
+        StaffingCounters counters = new StaffingCounters();
+        counters.addEmployees(Map.of(4L, new Counts(2, 1)));
+        assertFalse(counters.isLoaded());
+
+        counters.reset(Map.of(), REGION_OF_UNIT, Counts.NONE);
+        assertEquals(Counts.NONE, counters.unit(4));
+
+        counters.addEmployees(Map.of(99L, new Counts(1, 1)));
+        assertTrue(counters.isStale());
+
+        counters.reset(Map.of(), REGION_OF_UNIT, Counts.NONE);
+        assertFalse(counters.isStale());
+    }
+}
@@ -0,0 +1,75 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TeacherJsonFragmentCacheTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2025, 6, 15, 10, 0);
+
+    @Test
+    void servesAFragmentOnlyForItsVersion() {
+        TeacherJsonFragmentCache cache = new TeacherJsonFragmentCache(true, 16);
+        cache.put(1L, VERSION, json(1));
+
+        assertEquals("{\"id\":1}", cache.get(1L, VERSION).getValue());
+        assertNull(cache.get(1L, VERSION.plusSeconds(1)));
+        assertNull(cache.get(2L, VERSION));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedFragment() {
+        TeacherJsonFragmentCache cache = new TeacherJsonFragmentCache(true, 2);
+        cache.put(1L, VERSION, json(1));
+        cache.put(2L, VERSION, json(2));
+        // Reading 1 makes 2 the eldest
+        cache.get(1L, VERSION);
+
+        cache.put(3L, VERSION, json(3));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(1L, VERSION));
+        assertNull(cache.get(2L, VERSION));
+        assertNotNull(cache.get(3L, VERSION));
+    }
+
+    @Test
+    void replacingAFragmentDoesNotEvict() {
+        TeacherJsonFragmentCache cache = new TeacherJsonFragmentCache(true, 2);
+        cache.put(1L, VERSION, json(1));
+        cache.put(2L, VERSION, json(2));
+
+        cache.put(1L, VERSION.plusSeconds(1), json(1));
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictions());
+        assertNotNull(cache.get(1L, VERSION.plusSeconds(1)));
+        assertNotNull(cache.get(2L, VERSION));
+    }
+
+    @Test
+    void clearDropsEveryFragment() {
+        TeacherJsonFragmentCache cache = new TeacherJsonFragmentCache(true, 16);
+        cache.put(1L, VERSION, json(1));
+        cache.put(2L, VERSION, json(2));
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(1L, VERSION));
+    }
+
+    private static byte[] json(long id) {
+        return ("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
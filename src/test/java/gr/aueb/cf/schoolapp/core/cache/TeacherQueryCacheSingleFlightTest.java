@@ -0,0 +1,92 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache.Flight;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache.Key;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The cache and the single flight composed the way {@code TeacherService}
+ * composes them.
+ */
+class TeacherQueryCacheSingleFlightTest {
+
+    private static final Key KEY = TeacherQueryCache.keyOf("filteredPaginated", TeacherFilters.builder().build());
+
+    private final TeacherQueryCache cache = new TeacherQueryCache(true, 16);
+    private final SingleFlight singleFlight = new SingleFlight(true, 5000);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void callerAfterAWriteDoesNotShareTheQueryStartedBeforeIt() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> load(() -> {
+            querying.countDown();
+            await(release);
+            return "before the write";
+        }));
+        assertTrue(querying.await(5, SECONDS));
+
+        // A write commits while the leader's query runs
+        cache.invalidateAll();
+
+        // Sharing the leader's query would block here until it is released, and then cache its result as current
+        Future<String> follower = executor.submit(() -> load(() -> "after the write"));
+        assertEquals("after the write", follower.get(5, SECONDS));
+        assertEquals(0, singleFlight.getMerged());
+
+        release.countDown();
+        assertEquals("before the write", leader.get(5, SECONDS));
+        assertEquals("after the write", load(() -> "reloaded"));
+    }
+
+    @Test
+    void callersOfTheSameGenerationShareOneQuery() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> load(() -> {
+            querying.countDown();
+            await(release);
+            return "rows";
+        }));
+        assertTrue(querying.await(5, SECONDS));
+
+        Future<String> follower = executor.submit(() -> load(() -> "second query"));
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (singleFlight.getMerged() == 0 && System.nanoTime() < deadline) Thread.onSpinWait();
+
+        release.countDown();
+        assertEquals("rows", leader.get(5, SECONDS));
+        assertEquals("rows", follower.get(5, SECONDS));
+        assertEquals(1, singleFlight.getExecutions());
+    }
+
+    private String load(Supplier<String> query) {
+        return cache.get(KEY, generation -> singleFlight.execute(new Flight(KEY, generation), query));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache.Key;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TeacherQueryCacheTest {
+
+    @Test
+    void servesTheCachedValueUntilInvalidated() {
+        TeacherQueryCache cache = new TeacherQueryCache(true, 16);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, load(cache, loads));
+        assertEquals(1, load(cache, loads));
+
+        cache.invalidateAll();
+        assertEquals(1, cache.getGeneration());
+        assertEquals(2, load(cache, loads));
+        assertEquals(2, load(cache, loads));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getStaleRejections());
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void rejectsAnEntryLoadedWhileAWriteHappened() {
+        TeacherQueryCache cache = new TeacherQueryCache(true, 16);
+
+        // The write lands between reading the generation and storing the result
+        cache.get(key("a"), () -> {
+            cache.invalidateAll();
+            return "before the write";
+        });
+
+        assertEquals("after the write", cache.get(key("a"), () -> "after the write"));
+        assertEquals(1, cache.getStaleRejections());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        TeacherQueryCache cache = new TeacherQueryCache(true, 2);
+        cache.get(key("a"), () -> "a");
+        cache.get(key("b"), () -> "b");
+        // Reading a makes b the eldest
+        cache.get(key("a"), () -> "a again");
+
+        cache.get(key("c"), () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals("a", cache.get(key("a"), () -> "a reloaded"));
+        assertEquals("b reloaded", cache.get(key("b"), () -> "b reloaded"));
+    }
+
+    @Test
+    void loadsEveryTimeWhenDisabled() {
+        TeacherQueryCache cache = new TeacherQueryCache(false, 16);
+        AtomicInteger loads = new AtomicInteger();
+
+        load(cache, loads);
+        load(cache, loads);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void keysIgnoreUuidCaseAndBlankFilters() {
+        TeacherFilters lowerCase = TeacherFilters.builder().uuid(" abc ").userAfm("").build();
+        TeacherFilters upperCase = TeacherFilters.builder().uuid("ABC").build();
+
+        assertEquals(TeacherQueryCache.keyOf("filtered", upperCase), TeacherQueryCache.keyOf("filtered", lowerCase));
+    }
+
+    private static int load(TeacherQueryCache cache, AtomicInteger loads) {
+        return cache.get(key("a"), loads::incrementAndGet);
+    }
+
+    private static Key key(String uuid) {
+        return TeacherQueryCache.keyOf("filtered", TeacherFilters.builder().uuid(uuid).build());
+    }
+}
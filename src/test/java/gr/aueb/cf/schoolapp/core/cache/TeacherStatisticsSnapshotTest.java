@@ -0,0 +1,56 @@
+package gr.aueb.cf.schoolapp.core.cache;
+
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot.AgeBand;
+import gr.aueb.cf.schoolapp.core.cache.TeacherStatisticsSnapshot.Group;
+import gr.aueb.cf.schoolapp.dto.TeacherStatisticsReadOnlyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TeacherStatisticsSnapshotTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private static final List<Group> GROUPS = List.of(
+            new Group(true, "FEMALE", "TEACHER", AgeBand.UNDER_30, 4),
+            new Group(true, "MALE", "TEACHER", AgeBand.FROM_40_TO_49, 3),
+            new Group(false, "FEMALE", "TEACHER", null, 2),
+            new Group(null, null, null, AgeBand.FROM_60, 1));
+
+    @Test
+    void sumsEveryDimensionAndListsEmptyOnes() {
+        TeacherStatisticsReadOnlyDTO statistics = new TeacherStatisticsSnapshot(TODAY, LocalDateTime.now(), GROUPS).statistics();
+
+        assertEquals(10, statistics.getTotal());
+        assertEquals(7, statistics.getActive());
+        assertEquals(3, statistics.getInactive());
+        assertEquals(6L, statistics.getByGender().get("FEMALE"));
+        assertEquals(0L, statistics.getByGender().get("OTHER"));
+        assertEquals(1L, statistics.getByGender().get(TeacherStatisticsSnapshot.UNKNOWN));
+        assertEquals(9L, statistics.getByRole().get("TEACHER"));
+        assertEquals(List.of("UNDER_30", "FROM_30_TO_39", "FROM_40_TO_49", "FROM_50_TO_59", "FROM_60", "UNKNOWN"),
+                List.copyOf(statistics.getByAgeBand().keySet()));
+        assertEquals(2L, statistics.getByAgeBand().get(TeacherStatisticsSnapshot.UNKNOWN));
+    }
+
+    @Test
+    void ageBandsEndOnTheBirthday() {
+        assertEquals(LocalDate.of(1995, 6, 15), AgeBand.UNDER_30.bornOnOrBefore(TODAY));
+        assertEquals(LocalDate.of(1965, 6, 15), AgeBand.FROM_50_TO_59.bornOnOrBefore(TODAY));
+        assertNull(AgeBand.FROM_60.bornOnOrBefore(TODAY));
+    }
+
+    @Test
+    void versionDependsOnCountsOnly() {
+        String version = new TeacherStatisticsSnapshot(TODAY, LocalDateTime.now(), GROUPS).version();
+
+        assertEquals(version, new TeacherStatisticsSnapshot(TODAY.plusDays(1), LocalDateTime.now(), GROUPS).version());
+        assertNotEquals(version, new TeacherStatisticsSnapshot(TODAY, LocalDateTime.now(), GROUPS.subList(0, 3)).version());
+    }
+}
@@ -0,0 +1,179 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import gr.aueb.cf.schoolapp.core.ErrorHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Limits checkouts from an embedded H2 pool that has more connections than
+ * permits, so every wait is on the semaphore and never inside Hikari.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private HikariDataSource pool;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:limited-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName("limited");
+        pool.setMaximumPoolSize(4);
+        dataSource = new ConcurrencyLimitedDataSource(pool, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void closingTheConnectionReturnsThePermitOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        connection.close();
+        connection.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void givesUpWithATransientExceptionWhenEveryPermitIsTaken() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            long started = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+            assertTrue(System.nanoTime() - started >= 100_000_000L);
+            assertEquals(1, dataSource.getRejections());
+            assertEquals(0, dataSource.getAvailablePermits());
+        }
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void aFailedCheckoutReturnsThePermit() {
+        // Hikari does not hand out connections for other credentials
+        assertThrows(SQLException.class, () -> dataSource.getConnection("someone", "else"));
+
+        assertEquals(2, dataSource.getAvailablePermits());
+        assertEquals(0, dataSource.getRejections());
+    }
+
+    @Test
+    void timeoutsReachTheClientAsServiceUnavailable() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            DataAccessResourceFailureException query = assertThrows(DataAccessResourceFailureException.class,
+                    () -> jdbc.queryForObject("select 1", Integer.class));
+            assertInstanceOf(SQLTransientConnectionException.class, query.getCause());
+
+            CannotCreateTransactionException begin = assertThrows(CannotCreateTransactionException.class,
+                    () -> transaction.execute(status -> jdbc.queryForObject("select 1", Integer.class)));
+            assertInstanceOf(SQLTransientConnectionException.class, begin.getCause());
+
+            for (Exception e : new Exception[] {query, begin}) {
+                ResponseEntity<?> response = new ErrorHandler().handleDatabaseUnavailable(e);
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+                assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+            }
+        }
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void everyWorkloadPoolGetsALimiterOfItsOwnSize() throws Exception {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:mem:workloads-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSourceProperties.afterPropertiesSet();
+        WorkloadPoolProperties workloadPools = new WorkloadPoolProperties();
+        workloadPools.setEnabled(true);
+        workloadPools.setAuth(new WorkloadPoolProperties.Pool(1, 1000));
+        workloadPools.setRead(new WorkloadPoolProperties.Pool(2, 1000));
+        workloadPools.setWrite(new WorkloadPoolProperties.Pool(1, 1000));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.datasource.concurrency-limit.enabled", "true")
+                .withProperty("app.datasource.concurrency-limit.max-wait-ms", "100");
+
+        DataSourceRoutingConfiguration configuration = new DataSourceRoutingConfiguration();
+        try {
+            DataSource bean = configuration.dataSource(dataSourceProperties, new RoutingProperties(), workloadPools,
+                    environment, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+            // The single limiter must leave the routing alone
+            assertSame(bean, new ConcurrencyLimitedDataSourcePostProcessor(10, 100).postProcessAfterInitialization(bean, "dataSource"));
+            DataSource routing = ((LazyConnectionDataSourceProxy) bean).getTargetDataSource();
+            assertInstanceOf(WorkloadRoutingDataSource.class, routing);
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            new ConcurrencyLimitMetricsBinder(bean).bindTo(registry);
+            assertEquals(1, registry.get("datasource.concurrency.limit").tag("pool", "auth").gauge().value());
+            assertEquals(2, registry.get("datasource.concurrency.limit").tag("pool", "read").gauge().value());
+            assertEquals(1, registry.get("datasource.concurrency.limit").tag("pool", "write").gauge().value());
+
+            try (Connection first = connection(routing, WorkloadType.READ);
+                 Connection second = connection(routing, WorkloadType.READ)) {
+                assertThrows(SQLTransientConnectionException.class, () -> connection(routing, WorkloadType.READ));
+
+                // A login is not queued behind the reads
+                try (Connection login = connection(routing, WorkloadType.AUTH)) {
+                    assertEquals(0, registry.get("datasource.concurrency.available").tag("pool", "auth").gauge().value());
+                }
+                assertEquals(1, registry.get("datasource.concurrency.rejections").tag("pool", "read").functionCounter().count());
+            }
+        } finally {
+            configuration.destroy();
+        }
+    }
+
+    @Test
+    void unwrapReturnsTheProxyOrPassesThroughToThePool() throws Exception {
+        Class<?> h2Connection = Class.forName("org.h2.jdbc.JdbcConnection");
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(Connection.class));
+
+            assertTrue(connection.isWrapperFor(h2Connection));
+            assertInstanceOf(h2Connection, connection.unwrap(h2Connection));
+            assertEquals(1, dataSource.getAvailablePermits());
+        }
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    private static Connection connection(DataSource routing, WorkloadType workload) throws SQLException {
+        WorkloadType previous = WorkloadContext.set(workload);
+        try {
+            return routing.getConnection();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
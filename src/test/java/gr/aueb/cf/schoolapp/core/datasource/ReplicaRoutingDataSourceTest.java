@@ -0,0 +1,180 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between embedded H2 databases that each identify themselves by name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicasAndEverythingElseToPrimary() {
+        HikariDataSource primary = database("primary");
+        setUp(primary, List.of(database("replica1")), ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 0);
+
+        assertEquals("primary", readWrite.execute(status -> whoami()));
+        assertEquals("replica1", readOnly.execute(status -> whoami()));
+        assertEquals("primary", whoami());
+    }
+
+    @Test
+    void roundRobinAlternatesBetweenReplicas() {
+        setUp(database("primary"), List.of(database("replica1"), database("replica2")),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 0);
+
+        List<String> seen = new ArrayList<>();
+        for (int i = 0; i < 4; i++) seen.add(readOnly.execute(status -> whoami()));
+
+        assertEquals(List.of("replica1", "replica2", "replica1", "replica2"), seen);
+    }
+
+    @Test
+    void leastConnectionsAvoidsTheBusyReplica() throws Exception {
+        HikariDataSource busy = database("replica1");
+        setUp(database("primary"), List.of(busy, database("replica2")),
+                ReplicaRoutingDataSource.Strategy.LEAST_CONNECTIONS, 0);
+
+        try (Connection ignored = busy.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("replica2", readOnly.execute(status -> whoami()));
+            }
+        }
+    }
+
+    @Test
+    void readsFollowTheClientsOwnWritesToThePrimary() throws Exception {
+        setUp(database("primary"), List.of(database("replica1")), ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 200);
+
+        authenticate("writer");
+        readWrite.executeWithoutResult(status -> jdbc.update("update node set writes = writes + 1"));
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        authenticate("someone-else");
+        assertEquals("replica1", readOnly.execute(status -> whoami()));
+
+        authenticate("writer");
+        Thread.sleep(300);
+        assertEquals("replica1", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReads() {
+        setUp(database("primary"), List.of(database("replica1")), ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, 5000);
+
+        authenticate("writer");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("update node set writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica1", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void eachTransactionOfAnOpenInViewRequestIsRoutedOnItsOwn() {
+        var routing = new ReplicaRoutingDataSource(database("primary"), List.of(database("replica1")),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN, new ReadYourWritesTracker(0));
+        Map<String, Object> properties = new HashMap<>();
+        new DataSourceRoutingConfiguration().releaseConnectionsAfterTransaction().customize(properties);
+
+        var factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReplicaRoutingDataSourceTest.class.getPackageName());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        var transactionManager = new JpaTransactionManager(entityManagerFactory);
+        var jpaReadWrite = new TransactionTemplate(transactionManager);
+        var jpaReadOnly = new TransactionTemplate(transactionManager);
+        jpaReadOnly.setReadOnly(true);
+
+        // What OpenEntityManagerInViewInterceptor does for the length of a request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertEquals("replica1", jpaReadOnly.execute(status -> whoami(entityManager)));
+            assertEquals("primary", jpaReadWrite.execute(status -> whoami(entityManager)));
+            assertEquals("replica1", jpaReadOnly.execute(status -> whoami(entityManager)));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            factoryBean.destroy();
+        }
+    }
+
+    private void setUp(HikariDataSource primary, List<HikariDataSource> replicas,
+                       ReplicaRoutingDataSource.Strategy strategy, long readYourWritesMs) {
+        var routing = new ReplicaRoutingDataSource(primary, List.copyOf(replicas), strategy,
+                new ReadYourWritesTracker(readYourWritesMs));
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        pools.add(dataSource);
+
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("create table node (name varchar(20), writes int)");
+        setup.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+
+    private String whoami() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private static String whoami(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
@@ -0,0 +1,141 @@
+package gr.aueb.cf.schoolapp.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Routes between embedded H2 databases, one per workload, that each identify
+ * themselves by name. {@link Workload} is applied through the real aspect on
+ * a proxy.
+ */
+class WorkloadRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        Map<WorkloadType, DataSource> workloadPools = new EnumMap<>(WorkloadType.class);
+        for (WorkloadType workload : WorkloadType.values()) {
+            workloadPools.put(workload, database(workload.name().toLowerCase()));
+        }
+        var dataSource = new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(workloadPools));
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void undeclaredWorkFollowsTheTransaction() {
+        assertEquals("write", readWrite.execute(status -> whoami()));
+        assertEquals("read", readOnly.execute(status -> whoami()));
+        assertEquals("read", whoami());
+    }
+
+    @Test
+    void declaredWorkloadWinsOverTheTransaction() {
+        Logins logins = proxy(new Logins());
+
+        assertEquals("auth", logins.lookup(this::whoami));
+        assertEquals("auth", logins.lookup(() -> readWrite.execute(status -> whoami())));
+        assertEquals("auth", readOnly.execute(status -> logins.lookup(this::whoami)));
+    }
+
+    @Test
+    void methodAnnotationOverridesTheClassOne() {
+        Reports reports = proxy(new Reports());
+
+        assertEquals("write", reports.run(this::whoami));
+        assertEquals("read", reports.preview(this::whoami));
+        assertEquals("auth", reports.run(() -> proxy(new Logins()).lookup(this::whoami)));
+    }
+
+    @Test
+    void workloadIsRestoredAfterTheMethod() {
+        Logins logins = proxy(new Logins());
+
+        assertThrows(IllegalStateException.class, () -> logins.lookup(() -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("read", whoami());
+
+        assertEquals("write", proxy(new Reports()).run(() -> {
+            logins.lookup(this::whoami);
+            return whoami();
+        }));
+        assertEquals("write", readWrite.execute(status -> whoami()));
+    }
+
+    public static class Logins {
+
+        @Workload(WorkloadType.AUTH)
+        public String lookup(Supplier<String> work) {
+            return work.get();
+        }
+    }
+
+    @Workload(WorkloadType.WRITE)
+    public static class Reports {
+
+        public String run(Supplier<String> work) {
+            return work.get();
+        }
+
+        @Workload(WorkloadType.READ)
+        public String preview(Supplier<String> work) {
+            return work.get();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadAspect());
+        return (T) factory.getProxy();
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        pools.add(dataSource);
+
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("create table node (name varchar(20))");
+        setup.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private String whoami() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+}
@@ -0,0 +1,85 @@
+package gr.aueb.cf.schoolapp.core.instrumentation;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asserts per-endpoint query budgets in tests.
+ * <p>
+ * With MockMvc (filters enabled, e.g. {@code @AutoConfigureMockMvc}):
+ * <pre>
+ * mockMvc.perform(get("/api/teachers/all/paginated"))
+ *         .andExpect(QueryBudget.statementsAtMost(3))
+ *         .andExpect(QueryBudget.entityLoadsAtMost(30));
+ * </pre>
+ * Around a direct service call:
+ * <pre>
+ * QueryBudget.assertStatementsAtMost(2, () -> teacherService.getPaginatedTeachers(0, 10));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;dur=[\\d.]+;desc=\"(\\d+) statements\"");
+    private static final Pattern ENTITIES = Pattern.compile("entities;desc=\"(\\d+) loaded\"");
+
+    private QueryBudget() {}
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> assertAtMost("statements", max,
+                extract(STATEMENTS, result.getResponse().getHeader("Server-Timing")));
+    }
+
+    public static ResultMatcher entityLoadsAtMost(int max) {
+        return result -> assertAtMost("entity loads", max,
+                extract(ENTITIES, result.getResponse().getHeader("Server-Timing")));
+    }
+
+    /**
+     * The statement count of a request, to compare requests with each other.
+     */
+    public static int statements(MvcResult result) {
+        return extract(STATEMENTS, result.getResponse().getHeader("Server-Timing"));
+    }
+
+    public static int entityLoads(MvcResult result) {
+        return extract(ENTITIES, result.getResponse().getHeader("Server-Timing"));
+    }
+
+    public static RequestMetrics measure(Runnable action) {
+        RequestMetrics metrics = RequestMetrics.start();
+        try {
+            action.run();
+            return metrics;
+        } finally {
+            RequestMetrics.clear();
+        }
+    }
+
+    public static void assertStatementsAtMost(int max, Runnable action) {
+        assertAtMost("statements", max, measure(action).getStatements());
+    }
+
+    public static void assertEntityLoadsAtMost(int max, Runnable action) {
+        assertAtMost("entity loads", max, measure(action).getEntityLoads());
+    }
+
+    private static int extract(Pattern pattern, String serverTiming) {
+        if (serverTiming == null) {
+            throw new AssertionError("No Server-Timing header; is the request metrics filter enabled?");
+        }
+        Matcher matcher = pattern.matcher(serverTiming);
+        if (!matcher.find()) {
+            throw new AssertionError("Unexpected Server-Timing header: " + serverTiming);
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static void assertAtMost(String what, int max, int actual) {
+        if (actual > max) {
+            throw new AssertionError("Query budget exceeded: " + actual + " " + what + ", budget is " + max);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package gr.aueb.cf.schoolapp.core.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the limiter with a manual clock, one full window of requests at a time.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void rejectsRequestsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 4);
+
+        for (int i = 0; i < 4; i++) assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejections());
+
+        limiter.release(0, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsWhileFullyUsedAndLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20);
+
+        for (int i = 0; i < 10; i++) window(limiter, 20, 10, false);
+
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20);
+
+        for (int i = 0; i < 10; i++) window(limiter, 2, 10, false);
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 40);
+        for (int i = 0; i < 5; i++) window(limiter, 40, 10, false);
+        int steady = limiter.getLimit();
+
+        for (int i = 0; i < 5; i++) window(limiter, steady, 100, false);
+
+        assertTrue(limiter.getLimit() < steady, limiter.getLimit() + " < " + steady);
+    }
+
+    @Test
+    void backsOffOnDropsDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 40);
+
+        window(limiter, 10, 10, true);
+        assertEquals(36, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) window(limiter, 10, 10, true);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int minWindowSamples, int initialLimit) {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinWindowSamples(minWindowSamples);
+        return new AdaptiveConcurrencyLimiter(properties, clock::get);
+    }
+
+    /**
+     * Runs {@code concurrent} requests at once, twice, with the given latency
+     * each, then moves the clock past the window so the next release adjusts.
+     */
+    private void window(AdaptiveConcurrencyLimiter limiter, int concurrent, long latencyMs, boolean dropped) {
+        long latency = TimeUnit.MILLISECONDS.toNanos(latencyMs);
+        for (int round = 0; round < 2; round++) {
+            int acquired = 0;
+            while (acquired < concurrent && limiter.tryAcquire()) acquired++;
+            if (round == 1) clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            for (int i = 0; i < acquired; i++) limiter.release(latency, dropped);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void allowsABurstOfCapacityThenRefillsAtTheRate() {
+        RateLimitBudget budget = budget(5, 2);
+
+        for (int i = 0; i < 5; i++) assertEquals(0, budget.tryAcquire("a"));
+        long wait = budget.tryAcquire("a");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+        advanceMillis(500);
+        assertEquals(0, budget.tryAcquire("a"));
+        assertTrue(budget.tryAcquire("a") > 0);
+        assertEquals(2, budget.getRejections());
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimitBudget budget = budget(1, 1);
+
+        assertEquals(0, budget.tryAcquire("a"));
+        assertTrue(budget.tryAcquire("a") > 0);
+        assertEquals(0, budget.tryAcquire("b"));
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() {
+        RateLimitBudget budget = budget(10, 1);
+        budget.tryAcquire("idle");
+        for (int i = 0; i < 10; i++) budget.tryAcquire("busy");
+
+        advanceMillis(5_000);
+        budget.tryAcquire("busy");
+        assertEquals(2, budget.getSize());
+
+        advanceMillis(60_000);
+        budget.tryAcquire("new");
+        assertEquals(1, budget.getSize());
+    }
+
+    @Test
+    void neverAllowsMoreThanTheCapacityUnderContention() throws Exception {
+        RateLimitBudget budget = budget(100, 1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (budget.tryAcquire("shared") == 0) allowed.incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+
+    private RateLimitBudget budget(int capacity, double refillPerSecond) {
+        return new RateLimitBudget("test", new RateLimitProperties.Budget(capacity, refillPerSecond), 10_000, clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,87 @@
+package gr.aueb.cf.schoolapp.core.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private static final String BODY = "{\"username\": \"Teacher@aueb.gr\", \"password\": \"wrong\"}";
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RequestRateLimiter(properties()), new ObjectMapper());
+
+    @Test
+    void loginUsernameBudgetIsPerAddress() throws Exception {
+        for (int i = 0; i < 2; i++) assertEquals(HttpStatus.OK.value(), login("10.0.0.1").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), login("10.0.0.1").getStatus());
+
+        // Bad logins from 10.0.0.1 do not lock the account out elsewhere
+        assertEquals(HttpStatus.OK.value(), login("10.0.0.2").getStatus());
+    }
+
+    @Test
+    void replaysTheBodyToAReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(loginRequest("10.0.0.1"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = new boolean[1];
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                int n;
+                while (in.isReady() && (n = in.read(buffer)) >= 0) read.write(buffer, 0, n);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertTrue(allRead[0]);
+        assertTrue(in.isFinished());
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse login(String address) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(address), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest loginRequest(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/authenticate");
+        request.setRemoteAddr(address);
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLoginUsername(new RateLimitProperties.Budget(2, 0.001));
+        return properties;
+    }
+}
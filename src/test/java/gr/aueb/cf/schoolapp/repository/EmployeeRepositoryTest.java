@@ -0,0 +1,99 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.repository.EmployeeRepositoryCustom.UnitCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The join-table statements on H2 in MySQL mode, which accepts the same
+ * {@code INSERT IGNORE ... SELECT} as MySQL.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TestDataset dataset;
+    private String active;
+    private String inactive;
+
+    @BeforeEach
+    void seed() {
+        dataset = new TestDataset(context);
+        dataset.clear();
+        active = dataset.employee(1, true);
+        inactive = dataset.employee(2, false);
+        dataset.changed();
+    }
+
+    @Test
+    void assigningTwiceCreatesTheRowsOnce() {
+        assertEquals(4, inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(active, inactive), List.of(1L, 2L))));
+        assertEquals(0, inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(active, inactive), List.of(1L, 2L))));
+        // Only the pairs that are still missing count
+        assertEquals(2, inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(active, inactive), List.of(2L, 3L))));
+
+        assertEquals(Map.of(1L, List.of(1L, 2L, 3L), 2L, List.of(1L, 2L, 3L)),
+                inTransaction(() -> employeeRepository.findEducationalUnitIds(List.of(1L, 2L))));
+    }
+
+    @Test
+    void unknownUuidsAndEmptyInputChangeNothing() {
+        assertEquals(0, inTransaction(() -> employeeRepository.assignEducationalUnits(List.of("no-such-uuid"), List.of(1L))));
+        assertEquals(0, inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(), List.of(1L))));
+        assertEquals(0, inTransaction(() -> employeeRepository.unassignEducationalUnits(List.of(active), List.of())));
+        assertEquals(0L, joinRows());
+    }
+
+    @Test
+    void unassignRemovesOnlyTheGivenPairs() {
+        inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(active, inactive), List.of(1L, 2L)));
+
+        assertEquals(1, inTransaction(() -> employeeRepository.unassignEducationalUnits(List.of(active), List.of(2L, 3L))));
+        assertEquals(0, inTransaction(() -> employeeRepository.unassignEducationalUnits(List.of(active), List.of(2L))));
+        assertEquals(3L, joinRows());
+    }
+
+    @Test
+    void countsTheChangeBeforeMakingIt() {
+        inTransaction(() -> employeeRepository.assignEducationalUnits(List.of(active), List.of(1L)));
+
+        assertEquals(List.of(new UnitCount(1, 1, 0), new UnitCount(2, 2, 1)), inTransaction(() ->
+                sorted(employeeRepository.countNewAssignments(List.of(active, inactive), List.of(1L, 2L)))));
+        assertEquals(List.of(new UnitCount(1, 1, 1)), inTransaction(() ->
+                employeeRepository.countAssignments(List.of(active, inactive), List.of(1L, 2L))));
+    }
+
+    private static List<UnitCount> sorted(List<UnitCount> counts) {
+        return counts.stream().sorted((a, b) -> Long.compare(a.unitId(), b.unitId())).toList();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private long joinRows() {
+        return dataset.jdbc().queryForObject("SELECT COUNT(*) FROM employees_edu_units", Long.class);
+    }
+}
@@ -0,0 +1,127 @@
+package gr.aueb.cf.schoolapp.repository;
+
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.core.filters.Paginated;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.service.TeacherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same filters and sorts through the R2DBC repository and the JPA
+ * listing, over the same H2 database, and expects the same rows in the same
+ * order on every page.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class TeacherReactiveRepositoryTest {
+
+    private static final int TEACHERS = 30;
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private TeacherReactiveRepository teacherReactiveRepository;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private final List<String> uuids = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        TestDataset dataset = new TestDataset(context);
+        dataset.clear();
+        for (long id = 1; id <= TEACHERS; id++) uuids.add(dataset.teacher(id, id % 3 != 0));
+
+        // Both filter on the user's active flag and return the teacher's
+        dataset.jdbc().update("UPDATE teachers SET is_active = false WHERE id = 5");
+        // A user update newer than its teacher's, and a teacher that was patched
+        dataset.jdbc().update("UPDATE users SET updated_at = ? WHERE id = 7", Timestamp.valueOf("2025-03-01 10:00:00"));
+        dataset.jdbc().update("UPDATE teachers SET version = 4 WHERE id = 8");
+        dataset.changed();
+    }
+
+    @Test
+    void everySortKeyOrdersTheSameWay() {
+        for (String field : TeacherFilters.SORT_REGISTRY.getFields()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                TeacherFilters filters = TeacherFilters.builder().build();
+                filters.setSortBy(field);
+                filters.setSortDirection(direction);
+
+                assertSamePages(filters, TEACHERS);
+            }
+        }
+    }
+
+    @Test
+    void everyFilterMatchesTheSameRows() {
+        String fragment = uuids.get(11).substring(9, 13);
+
+        assertSamePages(TeacherFilters.builder().uuid(fragment).build(), -1);
+        assertSamePages(TeacherFilters.builder().uuid(" " + fragment.toUpperCase() + " ").build(), -1);
+        assertSamePages(TeacherFilters.builder().uuid("a").build(), -1);
+        assertSamePages(TeacherFilters.builder().userAfm(TestDataset.afm(12)).build(), 1);
+        assertSamePages(TeacherFilters.builder().userAmka(TestDataset.amka(17)).build(), 1);
+        assertSamePages(TeacherFilters.builder().isActive(true).build(), 20);
+        assertSamePages(TeacherFilters.builder().isActive(false).build(), 10);
+        assertSamePages(TeacherFilters.builder().userAfm(TestDataset.afm(13)).isActive(false).build(), 0);
+        assertSamePages(TeacherFilters.builder().uuid(" ").userAfm("").userAmka(" ").build(), TEACHERS);
+    }
+
+    @Test
+    void filtersAndSortsCombine() {
+        TeacherFilters filters = TeacherFilters.builder().isActive(true).uuid("4").build();
+        filters.setSortBy("user.lastname");
+        filters.setSortDirection(Sort.Direction.DESC);
+
+        assertSamePages(filters, -1);
+    }
+
+    /**
+     * Compares every page of both listings and, unless {@code expected} is
+     * negative, the number of matches.
+     */
+    private void assertSamePages(TeacherFilters filters, int expected) {
+        filters.setPageSize(PAGE_SIZE);
+        long total = teacherReactiveRepository.count(filters).block();
+        if (expected >= 0) assertEquals(expected, total, filters::toString);
+
+        int pages = (int) Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+        List<String> seen = new ArrayList<>();
+        for (int page = 0; page < pages; page++) {
+            filters.setPage(page);
+            Paginated<TeacherReadOnlyDTO> jpa = teacherService.getTeachersFilteredPaginated(filters);
+            List<TeacherReadOnlyDTO> reactive = teacherReactiveRepository.findPage(filters).collectList().block();
+
+            assertEquals(total, jpa.getTotalElements(), filters::toString);
+            assertEquals(describe(jpa.getData()), describe(reactive), () -> filters + " page " + filters.getPage());
+            seen.addAll(describe(reactive));
+        }
+        assertEquals(total, seen.size());
+        assertEquals(total, seen.stream().distinct().count());
+    }
+
+    private static List<String> describe(List<TeacherReadOnlyDTO> teachers) {
+        return teachers.stream()
+                .map(t -> t.getId() + "|" + t.getUuid() + "|" + t.getIsActive() + "|" + t.getRevision() + "|" + t.getVersion()
+                        + "|" + t.getUser().getFirstname() + "|" + t.getUser().getLastname() + "|" + t.getUser().getVat()
+                        + "|" + t.getPersonalInfo().getAmka() + "|" + t.getPersonalInfo().getIdentityNumber())
+                .toList();
+    }
+}
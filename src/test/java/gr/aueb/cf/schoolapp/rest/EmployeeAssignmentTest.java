@@ -0,0 +1,83 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.dto.EducationalUnitAssignmentDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class EmployeeAssignmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TestDataset dataset;
+    private String employee;
+
+    @BeforeEach
+    void seed() {
+        dataset = new TestDataset(context);
+        dataset.clear();
+        employee = dataset.employee(1, true);
+        dataset.changed();
+    }
+
+    @Test
+    @WithMockUser(authorities = "EMPLOYEE")
+    void employeesCannotReassign() throws Exception {
+        assign("assign").andExpect(status().isForbidden());
+        assertEquals(0L, joinRows());
+
+        dataset.jdbc().update("INSERT INTO employees_edu_units (employees_id, edu_units_id) VALUES (1, 1)");
+        assign("unassign").andExpect(status().isForbidden());
+        assertEquals(1L, joinRows());
+    }
+
+    @Test
+    @WithMockUser(authorities = "SUPER_ADMIN")
+    void superAdminsCanReassign() throws Exception {
+        assign("assign")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(2));
+        assign("unassign")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(2));
+        assertEquals(0L, joinRows());
+    }
+
+    private ResultActions assign(String action) throws Exception {
+        EducationalUnitAssignmentDTO assignment = new EducationalUnitAssignmentDTO(List.of(employee), List.of(1L, 2L));
+        return mockMvc.perform(post("/api/employees/educational-units/" + action)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(assignment)));
+    }
+
+    private long joinRows() {
+        return dataset.jdbc().queryForObject("SELECT COUNT(*) FROM employees_edu_units", Long.class);
+    }
+}
@@ -0,0 +1,80 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.core.instrumentation.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(authorities = "EMPLOYEE")
+class EmployeeQueryBudgetTest {
+
+    private static final int EMPLOYEES = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @BeforeEach
+    void seed() throws Exception {
+        TestDataset dataset = new TestDataset(context);
+        dataset.clear();
+        List<Long> unitIds = dataset.jdbc().queryForList("SELECT id FROM educational_units ORDER BY id LIMIT 3", Long.class);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            dataset.employee(id, true);
+            for (Long unitId : unitIds.subList(0, (int) (id % unitIds.size()) + 1)) {
+                dataset.jdbc().update("INSERT INTO employees_edu_units (employees_id, edu_units_id) VALUES (?, ?)", id, unitId);
+            }
+        }
+        dataset.changed();
+
+        // Loads the reference data snapshot, which later requests share
+        page(1);
+    }
+
+    @Test
+    void statementsDoNotGrowWithThePageSize() throws Exception {
+        int small = QueryBudget.statements(page(5));
+        int large = QueryBudget.statements(page(30));
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void fullPageStaysWithinBudget() throws Exception {
+        // Rows, count and the unit ids of the page
+        mockMvc.perform(get("/api/employees/all/paginated").param("pageSize", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(30))
+                .andExpect(QueryBudget.statementsAtMost(3))
+                .andExpect(QueryBudget.entityLoadsAtMost(0));
+    }
+
+    private MvcResult page(int size) throws Exception {
+        return mockMvc.perform(get("/api/employees/all/paginated")
+                        .param("page", "0")
+                        .param("pageSize", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(size))
+                .andReturn();
+    }
+}
@@ -0,0 +1,194 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.dto.PersonalInfoPatchDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherPatchDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherReadOnlyDTO;
+import gr.aueb.cf.schoolapp.dto.UserPatchDTO;
+import gr.aueb.cf.schoolapp.repository.TeacherRepository;
+import gr.aueb.cf.schoolapp.service.StaffingService;
+import gr.aueb.cf.schoolapp.service.TeacherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TeacherPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StaffingService staffingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TestDataset dataset;
+    private String uuid;
+
+    @BeforeEach
+    void seed() {
+        dataset = new TestDataset(context);
+        dataset.clear();
+        uuid = dataset.teacher(1, true);
+        dataset.teacher(2, true);
+        dataset.changed();
+    }
+
+    @Test
+    @WithMockUser(authorities = "SUPER_ADMIN")
+    void patchRaisesTheRevision() throws Exception {
+        patchTeacher(uuid, firstname(0L, "Αλέξανδρος"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.firstname").value("Αλέξανδρος"))
+                .andExpect(jsonPath("$.revision").value(1));
+    }
+
+    @Test
+    @WithMockUser(authorities = "TEACHER")
+    void teachersCannotPatch() throws Exception {
+        patchTeacher(uuid, firstname(0L, "Αλέξανδρος"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0L, version("teachers", 1));
+    }
+
+    @Test
+    @WithMockUser(authorities = "SUPER_ADMIN")
+    void staleRevisionIsAConflict() throws Exception {
+        patchTeacher(uuid, firstname(0L, "Αλέξανδρος")).andExpect(status().isOk());
+
+        patchTeacher(uuid, firstname(0L, "Πέτρος"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("VersionConflict"));
+        assertEquals("Αλέξανδρος", column("users", "firstname", 1));
+    }
+
+    @Test
+    @WithMockUser(authorities = "SUPER_ADMIN")
+    void takenIdentityNumberIsAConflict() throws Exception {
+        TeacherPatchDTO patch = new TeacherPatchDTO(0L, null, null,
+                new PersonalInfoPatchDTO(TestDataset.identityNumber(2), null, null));
+
+        patchTeacher(uuid, patch)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("PersonalInfoAlreadyExists"));
+        assertEquals(TestDataset.identityNumber(1), column("personal_information", "identity_number", 1));
+    }
+
+    @Test
+    void concurrentChangeFailsTheFlush() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            // Loads the teacher at version 0 into this transaction
+            teacherRepository.findByUuid(uuid).orElseThrow();
+
+            // Another request changes it and commits meanwhile
+            CompletableFuture.runAsync(() -> applyPatch(firstname(0L, "Πέτρος"))).join();
+
+            // The revision still matches the loaded copy, but the versioned UPDATE finds none
+            assertThrows(OptimisticLockingFailureException.class, () -> applyPatch(firstname(0L, "Αλέξανδρος")));
+            status.setRollbackOnly();
+        });
+
+        assertEquals("Πέτρος", column("users", "firstname", 1));
+        assertEquals(1L, version("teachers", 1));
+    }
+
+    @Test
+    void writesOnlyTheChangedColumns() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            teacherRepository.findByUuid(uuid).orElseThrow();
+
+            // Written behind the loaded copy's back; a full-row UPDATE would put the old values back
+            CompletableFuture.runAsync(() -> dataset.jdbc().update(
+                    "UPDATE users SET password = '{noop}changed', afm = '123456789' WHERE id = 1")).join();
+
+            applyPatch(firstname(0L, "Αλέξανδρος"));
+        });
+
+        assertEquals("Αλέξανδρος", column("users", "firstname", 1));
+        assertEquals("{noop}changed", column("users", "password", 1));
+        assertEquals("123456789", column("users", "afm", 1));
+    }
+
+    @Test
+    void deactivationMovesTheActiveTeacherCount() {
+        long active = staffingService.getStaffing().getActiveTeachers();
+
+        TeacherReadOnlyDTO patched = applyPatch(new TeacherPatchDTO(0L, false, null, null));
+        assertEquals(active - 1, staffingService.getStaffing().getActiveTeachers());
+
+        // Patching the same value again changes nothing
+        applyPatch(new TeacherPatchDTO(patched.getRevision(), false, null, null));
+        assertEquals(active - 1, staffingService.getStaffing().getActiveTeachers());
+        assertEquals(2, staffingService.getStaffing().getTeachers());
+    }
+
+    private TeacherReadOnlyDTO applyPatch(TeacherPatchDTO patch) {
+        try {
+            return teacherService.patchTeacher(uuid, patch);
+        } catch (Exception e) {
+            if (e instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResultActions patchTeacher(String uuid, TeacherPatchDTO patch) throws Exception {
+        return mockMvc.perform(patch("/api/teachers/{uuid}", uuid)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+    }
+
+    private static TeacherPatchDTO firstname(Long revision, String firstname) {
+        UserPatchDTO user = new UserPatchDTO();
+        user.setFirstname(firstname);
+        return new TeacherPatchDTO(revision, null, user, null);
+    }
+
+    private String column(String table, String column, long id) {
+        return dataset.jdbc().queryForObject("SELECT " + column + " FROM " + table + " WHERE id = ?", String.class, id);
+    }
+
+    private long version(String table, long id) {
+        return dataset.jdbc().queryForObject("SELECT version FROM " + table + " WHERE id = ?", Long.class, id);
+    }
+}
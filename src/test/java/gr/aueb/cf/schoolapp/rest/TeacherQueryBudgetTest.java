@@ -0,0 +1,72 @@
+package gr.aueb.cf.schoolapp.rest;
+
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.core.instrumentation.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(authorities = "TEACHER")
+class TeacherQueryBudgetTest {
+
+    private static final int TEACHERS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @BeforeEach
+    void seed() {
+        TestDataset dataset = new TestDataset(context);
+        dataset.clear();
+        for (long id = 1; id <= TEACHERS; id++) {
+            dataset.teacher(id, id % 4 != 0);
+        }
+        dataset.changed();
+    }
+
+    @Test
+    void statementsDoNotGrowWithThePageSize() throws Exception {
+        int small = QueryBudget.statements(page(5));
+        int large = QueryBudget.statements(page(30));
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void firstReadStaysWithinBudgetAndRepeatsComeFromTheCache() throws Exception {
+        // ETag fingerprint, page and count
+        mockMvc.perform(get("/api/teachers/all/paginated").param("pageSize", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(30))
+                .andExpect(QueryBudget.statementsAtMost(3));
+
+        mockMvc.perform(get("/api/teachers/all/paginated").param("pageSize", "30"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.statementsAtMost(0));
+    }
+
+    private MvcResult page(int size) throws Exception {
+        return mockMvc.perform(get("/api/teachers/all/paginated").param("pageSize", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(size))
+                .andReturn();
+    }
+}
@@ -0,0 +1,110 @@
+package gr.aueb.cf.schoolapp.service;
+
+import gr.aueb.cf.schoolapp.TestDataset;
+import gr.aueb.cf.schoolapp.core.cache.TeacherJsonFragmentCache;
+import gr.aueb.cf.schoolapp.core.cache.TeacherQueryCache;
+import gr.aueb.cf.schoolapp.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.schoolapp.core.filters.TeacherFilters;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusDTO;
+import gr.aueb.cf.schoolapp.dto.TeacherBulkStatusResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TeacherBulkStatusTest {
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private StaffingService staffingService;
+
+    @Autowired
+    private TeacherQueryCache teacherQueryCache;
+
+    @Autowired
+    private TeacherJsonFragmentCache teacherJsonFragmentCache;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TestDataset dataset;
+    private String active1;
+    private String active2;
+    private String inactive;
+
+    @BeforeEach
+    void seed() {
+        dataset = new TestDataset(context);
+        dataset.clear();
+        active1 = dataset.teacher(1, true);
+        active2 = dataset.teacher(2, true);
+        dataset.teacher(3, true);
+        inactive = dataset.teacher(4, false);
+        dataset.changed();
+    }
+
+    @Test
+    void countsMatchedAndChangedRowsAndBumpsTheirVersion() throws Exception {
+        TeacherBulkStatusResultDTO result = teacherService.updateTeacherStatus(
+                new TeacherBulkStatusDTO(List.of(active1, active2, inactive), null), false);
+
+        assertEquals(3, result.getMatched());
+        assertEquals(2, result.getTeachersUpdated());
+        assertEquals(2, result.getUsersUpdated());
+        assertEquals(List.of(1L, 1L, 0L, 0L), versions("teachers"));
+        assertEquals(List.of(1L, 1L, 0L, 0L), versions("users"));
+        assertEquals(1, staffingService.getStaffing().getActiveTeachers());
+    }
+
+    @Test
+    void dropsTheCachedTeacherReads() throws Exception {
+        TeacherFilters activeOnly = TeacherFilters.builder().isActive(true).build();
+        assertEquals(3, teacherService.getTeachersFilteredPaginated(activeOnly).getTotalElements());
+        teacherJsonFragmentCache.put(1L, LocalDateTime.now(), "{}".getBytes(StandardCharsets.UTF_8));
+        long generation = teacherQueryCache.getGeneration();
+
+        teacherService.updateTeacherStatus(new TeacherBulkStatusDTO(null, activeOnly), false);
+
+        assertEquals(generation + 2, teacherQueryCache.getGeneration());
+        assertEquals(0, teacherJsonFragmentCache.size());
+        assertEquals(0, teacherService.getTeachersFilteredPaginated(activeOnly).getTotalElements());
+    }
+
+    @Test
+    void uuidFilterMatchesWholeUuidsOnly() throws Exception {
+        TeacherFilters prefix = TeacherFilters.builder().uuid(active1.substring(0, 8)).build();
+        TeacherFilters whole = TeacherFilters.builder().uuid(active1).build();
+
+        assertEquals(0, teacherService.updateTeacherStatus(new TeacherBulkStatusDTO(null, prefix), false).getMatched());
+        assertEquals(1, teacherService.updateTeacherStatus(new TeacherBulkStatusDTO(null, whole), false).getMatched());
+        assertEquals(List.of(1L, 0L, 0L, 0L), versions("teachers"));
+    }
+
+    @Test
+    void selectionNeedsEitherUuidsOrAFilter() {
+        TeacherFilters noFilter = TeacherFilters.builder().build();
+        TeacherFilters activeOnly = TeacherFilters.builder().isActive(true).build();
+
+        assertThrows(AppObjectInvalidArgumentException.class,
+                () -> teacherService.updateTeacherStatus(new TeacherBulkStatusDTO(null, noFilter), false));
+        assertThrows(AppObjectInvalidArgumentException.class,
+                () -> teacherService.updateTeacherStatus(new TeacherBulkStatusDTO(List.of(active1), activeOnly), false));
+    }
+
+    private List<Long> versions(String table) {
+        return dataset.jdbc().queryForList("SELECT version FROM " + table + " ORDER BY id", Long.class);
+    }
+}